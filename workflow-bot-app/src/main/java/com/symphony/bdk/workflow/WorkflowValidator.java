@@ -1,11 +1,11 @@
 package com.symphony.bdk.workflow;
 
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.swadl.exception.InvalidActivityException;
 import com.symphony.bdk.workflow.swadl.v1.Event;
 import com.symphony.bdk.workflow.swadl.v1.EventWithTimeout;
-import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 
 import lombok.experimental.UtilityClass;
@@ -31,13 +31,14 @@ public class WorkflowValidator {
     }
   }
 
-  public static void validateActivityCompletedNodeId(String currentNodeId, String activityId, Workflow workflow) {
-    boolean activityUnknown = workflow.getActivities().stream()
-        .noneMatch(a -> a.getActivity().getId().equals(currentNodeId));
-    if (activityUnknown) {
+  public static void validateActivityCompletedNodeId(String currentNodeId, String activityId, String workflowId,
+      WorkflowDirectedGraph graph) {
+    // activities are all registered before the events are computed, a lookup avoids scanning them for each event
+    WorkflowNode node = graph.readWorkflowNode(currentNodeId);
+    if (node == null || node.getActivity() == null) {
       throw new NotFoundException(
           String.format("Invalid activity in the workflow %s: No activity found with id %s referenced in %s",
-              workflow.getId(),
+              workflowId,
               currentNodeId, activityId));
     }
   }
@@ -0,0 +1,74 @@
+package com.symphony.bdk.workflow.configuration;
+
+import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.shared.DefaultSharedDataStore;
+import com.symphony.bdk.workflow.versioning.repository.VersionedWorkflowRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded caches, entries are evicted when a cache is full or when they have not been read for a while. Cache
+ * statistics are recorded so that they are exposed as cache.* metrics by Spring Boot Actuator.
+ */
+@Configuration
+public class CacheConfiguration {
+
+  private static final long DEFAULT_MAX_SIZE = 1000;
+
+  @Bean
+  public CacheManager cacheManager(Optional<VersionedWorkflowRepository> versionedWorkflowRepository,
+      @Value("${wdk.properties.cache.active-directed-graph.max-size:1000}") long activeGraphMaxSize,
+      @Value("${wdk.properties.cache.active-directed-graph.expire-after-access:P1D}") String activeGraphExpiry,
+      @Value("${wdk.properties.cache.directed-graph.max-size:100}") long graphMaxSize,
+      @Value("${wdk.properties.cache.directed-graph.expire-after-access:PT30M}") String graphExpiry,
+      @Value("${wdk.properties.cache.shared-data.max-size:10000}") long sharedDataMaxSize,
+      @Value("${wdk.properties.cache.shared-data.expire-after-write:}") String sharedDataExpiry) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    // caches created on the fly
+    cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(DEFAULT_MAX_SIZE).recordStats());
+
+    // graphs of workflows deployed from a folder are only put in the cache, they cannot be loaded again if evicted
+    cacheManager.registerCustomCache(WorkflowDirectedGraphService.ACTIVE_WORKFLOW_DIRECTED_GRAPH,
+        versionedWorkflowRepository.isPresent()
+            ? boundedCache(activeGraphMaxSize, Duration.parse(activeGraphExpiry))
+            : Caffeine.newBuilder().recordStats().build());
+    cacheManager.registerCustomCache(WorkflowDirectedGraphService.WORKFLOW_DIRECTED_GRAPH,
+        boundedCache(graphMaxSize, Duration.parse(graphExpiry)));
+    cacheManager.registerCustomCache(DefaultSharedDataStore.SHARED_DATA,
+        sharedDataCache(sharedDataMaxSize, sharedDataExpiry));
+    return cacheManager;
+  }
+
+  private static Cache<Object, Object> boundedCache(long maxSize, Duration expireAfterAccess) {
+    return Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterAccess(expireAfterAccess)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Shared data is evicted when written by this instance. With several instances sharing a database, an expiry bounds
+   * how long a value written by another instance can be read stale.
+   */
+  private static Cache<Object, Object> sharedDataCache(long maxSize, String expireAfterWrite) {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .recordStats();
+    if (StringUtils.isNotEmpty(expireAfterWrite)) {
+      builder.expireAfterWrite(Duration.parse(expireAfterWrite));
+    }
+    return builder.build();
+  }
+
+}
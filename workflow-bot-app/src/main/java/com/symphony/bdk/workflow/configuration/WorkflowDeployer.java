@@ -2,91 +2,196 @@ package com.symphony.bdk.workflow.configuration;
 
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
-import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 @Component
 @ConditionalOnPropertyNotEmpty("wdk.workflows.path")
-@RequiredArgsConstructor
 @Slf4j
 public class WorkflowDeployer {
 
   private final WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
   private final Map<Path, Pair<String, Boolean>> deployedWorkflows = new HashMap<>();
-  private final WorkflowDirectedGraphService workflowDirectedGraphService;
+  private final int parallelism;
+  private final int batchSize;
 
+  public WorkflowDeployer(WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine,
+      @Value("${wdk.properties.deployment.parallelism:0}") int parallelism,
+      @Value("${wdk.properties.deployment.batch-size:50}") int batchSize) {
+    this.workflowEngine = workflowEngine;
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  /**
+   * Workflows are parsed, validated and translated in parallel then deployed in batches.
+   */
   public void addAllWorkflowsFromFolder(Path path) {
     if (!Files.isDirectory(path)) {
       throw new IllegalArgumentException("Could not find workflows folder to monitor with path: " + path);
     }
 
     log.info("Watching workflows from {}", path);
-    File[] existingFiles = path.toFile().listFiles();
-    if (existingFiles != null) {
-      for (File file : existingFiles) {
-        if (isYaml(file.toPath())) {
-          try {
-            this.addWorkflow(file.toPath());
-          } catch (Exception e) {
-            log.error("Failed to add workflow for file {}", file, e);
-          }
+    try (Stream<Path> files = Files.walk(path)) {
+      addWorkflows(files.filter(file -> Files.isRegularFile(file) && isYaml(file)).collect(Collectors.toList()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to list workflows from folder " + path, e);
+    }
+  }
+
+  /**
+   * Applies changes that have been coalesced per file, only the last change of each file is given.
+   */
+  public void handleFileChanges(Map<Path, WatchEvent.Kind<?>> changes) {
+    long start = System.currentTimeMillis();
+    List<Path> addedFiles = new ArrayList<>();
+    changes.forEach((file, kind) -> {
+      if (kind.equals(StandardWatchEventKinds.ENTRY_DELETE)) {
+        try {
+          this.removeWorkflow(file);
+        } catch (Exception e) {
+          log.error("Failed to remove workflow for file {}", file, e);
         }
+      } else {
+        addedFiles.add(file);
       }
+    });
+    addWorkflows(addedFiles);
+    log.info("Processed {} workflow file changes in {} ms", changes.size(), System.currentTimeMillis() - start);
+  }
+
+  private void addWorkflows(List<Path> files) {
+    List<Path> workflowFiles = files.stream()
+        .filter(file -> file.toFile().length() > 0)
+        .collect(Collectors.toList());
+
+    long start = System.currentTimeMillis();
+    List<TranslatedWorkflowFile> translatedFiles = translateAll(workflowFiles);
+    log.info("Parsed and translated {}/{} workflows in {} ms", translatedFiles.size(), workflowFiles.size(),
+        System.currentTimeMillis() - start);
+
+    start = System.currentTimeMillis();
+    int deployed = deployAll(translatedFiles);
+    log.info("Deployed {} workflows in {} ms", deployed, System.currentTimeMillis() - start);
+  }
+
+  private List<TranslatedWorkflowFile> translateAll(List<Path> workflowFiles) {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return pool.submit(() -> workflowFiles.parallelStream()
+              .map(this::translateOrLogError)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList()))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Collections.emptyList();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to translate workflows", e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private TranslatedWorkflowFile translateOrLogError(Path workflowFile) {
+    try {
+      Workflow workflow = SwadlParser.fromYaml(workflowFile.toFile());
+      // unchanged workflows do not need to be translated, drafts are translated to report invalid workflows
+      CamundaTranslatedWorkflowContext context =
+          workflow.isToPublish() && workflowEngine.isDeployed(workflow) ? null : workflowEngine.translate(workflow);
+      return new TranslatedWorkflowFile(workflowFile, workflow, context);
+    } catch (Exception e) {
+      log.error("Failed to add workflow for file {}", workflowFile, e);
+      return null;
     }
   }
 
-  void addWorkflow(Path workflowFile) throws IOException, ProcessingException {
-    if (workflowFile.toFile().length() == 0) {
-      return;
+  private int deployAll(List<TranslatedWorkflowFile> translatedFiles) {
+    int deployed = 0;
+    List<TranslatedWorkflowFile> toDeploy = new ArrayList<>();
+    for (TranslatedWorkflowFile translatedFile : translatedFiles) {
+      Workflow workflow = translatedFile.workflow;
+      if (!workflow.isToPublish()) {
+        undeployDraftIfPublished(translatedFile.file);
+        deployedWorkflows.put(translatedFile.file, Pair.of(workflow.getId(), false));
+      } else if (translatedFile.context == null) {
+        try {
+          // already deployed, this only restores what the translation would have computed
+          workflowEngine.deploy(workflow);
+          deployedWorkflows.put(translatedFile.file, Pair.of(workflow.getId(), true));
+          deployed++;
+        } catch (Exception e) {
+          log.error("Failed to add workflow for file {}", translatedFile.file, e);
+        }
+      } else {
+        toDeploy.add(translatedFile);
+      }
+    }
+
+    for (List<TranslatedWorkflowFile> batch : Lists.partition(toDeploy, batchSize)) {
+      Map<String, String> deployments = workflowEngine.deployAll(
+          batch.stream().map(translatedFile -> translatedFile.context).collect(Collectors.toList()));
+      for (TranslatedWorkflowFile translatedFile : batch) {
+        if (deployments.containsKey(translatedFile.workflow.getId())) {
+          deployedWorkflows.put(translatedFile.file, Pair.of(translatedFile.workflow.getId(), true));
+          deployed++;
+        }
+      }
+      log.info("Deployed {}/{} workflows", deployed, translatedFiles.size());
     }
-    log.debug("Adding a new workflow");
-    Workflow workflow = SwadlParser.fromYaml(workflowFile.toFile());
-    CamundaTranslatedWorkflowContext context = workflowEngine.translate(workflow);
+    return deployed;
+  }
+
+  private void undeployDraftIfPublished(Path workflowFile) {
     Pair<String, Boolean> deployedWorkflow = deployedWorkflows.get(workflowFile);
-    if (workflow.isToPublish()) {
-      log.debug("Deploying this new workflow");
-      workflowEngine.deploy(context);
-      workflowDirectedGraphService.putDirectedGraph(context.getWorkflowDirectedGraph());
-    } else if (deployedWorkflow != null && deployedWorkflow.getRight()) {
+    if (deployedWorkflow != null && deployedWorkflow.getRight()) {
       log.debug("Workflow is a draft version, undeloying the old version");
       workflowEngine.undeployByWorkflowId(deployedWorkflow.getLeft());
     }
-    deployedWorkflows.put(workflowFile, Pair.of(workflow.getId(), workflow.isToPublish()));
   }
 
-  public void handleFileEvent(Path changedFile, WatchEvent<Path> event) throws IOException, ProcessingException {
-    if (isYaml(changedFile)) {
-      if (event.kind().equals(StandardWatchEventKinds.ENTRY_CREATE) || event.kind()
-          .equals(StandardWatchEventKinds.ENTRY_MODIFY)) {
-        this.addWorkflow(changedFile);
-      } else if (event.kind().equals(StandardWatchEventKinds.ENTRY_DELETE)) {
-        String workflowId = deployedWorkflows.get(changedFile).getLeft();
-        this.workflowEngine.undeployByWorkflowId(workflowId);
-        this.deployedWorkflows.remove(changedFile);
-      } else {
-        log.debug("Unknown event: {}", event);
-      }
+  private void removeWorkflow(Path workflowFile) {
+    Pair<String, Boolean> deployedWorkflow = deployedWorkflows.remove(workflowFile);
+    if (deployedWorkflow != null) {
+      this.workflowEngine.undeployByWorkflowId(deployedWorkflow.getLeft());
     }
   }
 
-  private boolean isYaml(Path changedFile) {
+  static boolean isYaml(Path changedFile) {
     return changedFile.toString().endsWith(".yaml") || changedFile.toString().endsWith(".yml");
   }
 
+  @RequiredArgsConstructor
+  private static class TranslatedWorkflowFile {
+    private final Path file;
+    private final Workflow workflow;
+    @Nullable
+    private final CamundaTranslatedWorkflowContext context;
+  }
+
 }
@@ -3,24 +3,37 @@ package com.symphony.bdk.workflow.configuration;
 import lombok.Generated;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 
 /**
- * Watch a specific folder for workflows.
+ * Watch a specific folder, and its sub folders, for workflows.
  * Will automatically add workflows present at startup and update workflows on the fly while running
  * (stopping and redeploying them).
+ *
+ * <p>File events are debounced: events of a file are coalesced until no event happened for the debounce window, then
+ * the pending changes are processed as a batch. Saving a file or copying many files then triggers a single deployment
+ * per changed file.</p>
  */
 @Generated // slow tests on Mac
 @Slf4j
@@ -28,15 +41,22 @@ import javax.annotation.PreDestroy;
 @ConditionalOnPropertyNotEmpty("wdk.workflows.path")
 public class WorkflowFolderWatcher {
 
+  // a batch is processed after this many windows even if events keep coming
+  private static final int MAX_DEBOUNCE_WINDOWS = 10;
+
   private final Path workflowsFolder;
   private final WorkflowDeployer workflowDeployer;
+  private final long debounceMillis;
+  private final Map<WatchKey, Path> watchedFolders = new HashMap<>();
 
   private WatchService watchService;
 
   public WorkflowFolderWatcher(@Autowired WorkflowDeployer workflowDeployer,
-      @Autowired WorkflowBotConfiguration workflowBotConfiguration) {
+      @Autowired WorkflowBotConfiguration workflowBotConfiguration,
+      @Value("${wdk.properties.watcher.debounce:500}") long debounceMillis) {
     this.workflowDeployer = workflowDeployer;
     this.workflowsFolder = Paths.get(workflowBotConfiguration.getWorkflowsFolderPath());
+    this.debounceMillis = debounceMillis;
   }
 
   @Scheduled(fixedDelay = Long.MAX_VALUE) // will run once after startup and wait for file events
@@ -44,21 +64,48 @@ public class WorkflowFolderWatcher {
     this.watchService = FileSystems.getDefault().newWatchService();
     this.workflowDeployer.addAllWorkflowsFromFolder(this.workflowsFolder);
 
-    workflowsFolder.register(this.watchService,
-        StandardWatchEventKinds.ENTRY_DELETE,
-        StandardWatchEventKinds.ENTRY_MODIFY,
-        StandardWatchEventKinds.ENTRY_CREATE);
-    watchFileEvents(workflowsFolder);
+    registerFolders(workflowsFolder);
+    watchFileEvents();
+  }
+
+  private List<Path> registerFolders(Path folder) throws IOException {
+    List<Path> files;
+    try (Stream<Path> paths = Files.walk(folder)) {
+      files = paths.collect(Collectors.toList());
+    }
+    for (Path path : files) {
+      if (Files.isDirectory(path)) {
+        WatchKey key = path.register(this.watchService,
+            StandardWatchEventKinds.ENTRY_DELETE,
+            StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_CREATE);
+        watchedFolders.put(key, path);
+      }
+    }
+    return files;
   }
 
-  private void watchFileEvents(Path path) {
+  private void watchFileEvents() {
+    Map<Path, WatchEvent.Kind<?>> pendingChanges = new LinkedHashMap<>();
+    long batchStart = 0;
     try {
-      WatchKey key;
-      while ((key = watchService.take()) != null) {
-        for (WatchEvent<?> event : key.pollEvents()) {
-          handleFileEventOrLogError(path, event);
+      while (true) {
+        WatchKey key = pendingChanges.isEmpty()
+            ? watchService.take()
+            : watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+
+        if (key != null) {
+          if (pendingChanges.isEmpty()) {
+            batchStart = System.currentTimeMillis();
+          }
+          collectFileEvents(key, pendingChanges);
+        }
+
+        if (!pendingChanges.isEmpty() && (key == null
+            || System.currentTimeMillis() - batchStart > debounceMillis * MAX_DEBOUNCE_WINDOWS)) {
+          handleFileChangesOrLogError(pendingChanges);
+          pendingChanges.clear();
         }
-        key.reset();
       }
     } catch (InterruptedException e) {
       // ignored, thrown when stopping watcher
@@ -68,13 +115,47 @@ public class WorkflowFolderWatcher {
     }
   }
 
-  private void handleFileEventOrLogError(Path path, WatchEvent<?> event) {
+  @SuppressWarnings("unchecked")
+  private void collectFileEvents(WatchKey key, Map<Path, WatchEvent.Kind<?>> pendingChanges) {
+    Path folder = watchedFolders.get(key);
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind().equals(StandardWatchEventKinds.OVERFLOW)) {
+        log.warn("Some file events of {} have been lost, reloading the whole folder", folder);
+        collectNewFolder(folder, pendingChanges);
+        continue;
+      }
+      Path changedFile = folder.resolve(((WatchEvent<Path>) event).context());
+      if (event.kind().equals(StandardWatchEventKinds.ENTRY_CREATE) && Files.isDirectory(changedFile)) {
+        collectNewFolder(changedFile, pendingChanges);
+      } else if (WorkflowDeployer.isYaml(changedFile)) {
+        // the last event wins, a deleted then recreated file is deployed again
+        pendingChanges.remove(changedFile);
+        pendingChanges.put(changedFile, event.kind());
+      }
+    }
+    if (!key.reset()) {
+      watchedFolders.remove(key);
+    }
+  }
+
+  // files might have been added to the folder before it is watched
+  private void collectNewFolder(Path folder, Map<Path, WatchEvent.Kind<?>> pendingChanges) {
+    try {
+      for (Path file : registerFolders(folder)) {
+        if (Files.isRegularFile(file) && WorkflowDeployer.isYaml(file)) {
+          pendingChanges.put(file, StandardWatchEventKinds.ENTRY_CREATE);
+        }
+      }
+    } catch (IOException e) {
+      log.error("Failed to watch workflows folder {}", folder, e);
+    }
+  }
+
+  private void handleFileChangesOrLogError(Map<Path, WatchEvent.Kind<?>> pendingChanges) {
     try {
-      WatchEvent<Path> ev = (WatchEvent<Path>) event;
-      Path changedFile = path.resolve(ev.context());
-      this.workflowDeployer.handleFileEvent(changedFile, ev);
+      this.workflowDeployer.handleFileChanges(new LinkedHashMap<>(pendingChanges));
     } catch (Exception e) {
-      log.error("Failed to update workflow for file change event {}", event.context(), e);
+      log.error("Failed to update workflows for file changes {}", pendingChanges.keySet(), e);
     }
   }
 
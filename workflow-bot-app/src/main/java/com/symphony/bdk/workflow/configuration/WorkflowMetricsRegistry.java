@@ -1,34 +1,50 @@
 package com.symphony.bdk.workflow.configuration;
 
 import com.symphony.bdk.workflow.engine.WorkflowEngineMetrics;
+import com.symphony.bdk.workflow.engine.handler.metrics.WorkflowMetricsAction;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.function.ToDoubleFunction;
-
 /**
  * Expose custom metrics (workflow.*) to Spring Boot Actuator.
+ *
+ * <p>Counts are maintained from the engine's history events and periodically reconciled with the database, exposing
+ * them does not query the database.</p>
  */
+@Slf4j
 @Component
 public class WorkflowMetricsRegistry {
 
-  public WorkflowMetricsRegistry(MeterRegistry registry, WorkflowEngineMetrics metrics) {
-    registry.gauge("workflow.deployed", Tags.empty(),
-        (ToDoubleFunction<Tags>) value -> (double) metrics.countDeployedWorkflows());
+  private final WorkflowEngineMetrics metrics;
+  private final WorkflowMetricsAction metricsAction;
+
+  public WorkflowMetricsRegistry(MeterRegistry registry, WorkflowEngineMetrics metrics,
+      WorkflowMetricsAction metricsAction) {
+    this.metrics = metrics;
+    this.metricsAction = metricsAction;
+
+    registry.gauge("workflow.deployed", Tags.empty(), metricsAction.getDeployedWorkflows());
 
-    registry.gauge("workflow.process.running", Tags.empty(),
-        (ToDoubleFunction<Tags>) value -> (double) metrics.countRunningProcesses());
-    registry.gauge("workflow.process.completed", Tags.empty(),
-        (ToDoubleFunction<Tags>) value -> (double) metrics.countCompletedProcesses());
+    registry.gauge("workflow.process.running", Tags.empty(), metricsAction.getRunningProcesses());
+    registry.gauge("workflow.process.completed", Tags.empty(), metricsAction.getCompletedProcesses());
 
-    registry.gauge("workflow.activity.running", Tags.empty(),
-        (ToDoubleFunction<Tags>) value -> (double) metrics.countRunningActivities());
-    registry.gauge("workflow.activity.completed", Tags.empty(),
-        (ToDoubleFunction<Tags>) value -> (double) metrics.countCompletedActivities());
+    registry.gauge("workflow.activity.running", Tags.empty(), metricsAction.getRunningActivities());
+    registry.gauge("workflow.activity.completed", Tags.empty(), metricsAction.getCompletedActivities());
+
+    // workflow.process.failed and workflow.activity.failed counters are registered by the metrics action
+  }
 
-    // TODO expose failed process/activity counters
+  @Scheduled(initialDelay = 0, fixedDelayString = "${wdk.properties.metrics.reconciliation-interval:300000}")
+  public void reconcile() {
+    try {
+      metricsAction.reconcile(metrics);
+    } catch (RuntimeException e) {
+      log.warn("Failed to reconcile workflow metrics", e);
+    }
   }
 
 }
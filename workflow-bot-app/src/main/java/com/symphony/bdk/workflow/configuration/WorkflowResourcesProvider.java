@@ -37,4 +37,11 @@ public class WorkflowResourcesProvider implements ResourceProvider {
     return absolutePath;
   }
 
+  @Override
+  public Path saveResource(Path relativePath, InputStream content) throws IOException {
+    Path absolutePath = Path.of(resourcesFolder).resolve(relativePath);
+    FileUtils.copyInputStreamToFile(content, absolutePath.toFile());
+    return absolutePath;
+  }
+
 }
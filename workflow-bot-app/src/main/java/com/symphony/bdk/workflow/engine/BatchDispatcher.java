@@ -0,0 +1,110 @@
+package com.symphony.bdk.workflow.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands items over to a single daemon thread that processes them in batches, off the threads producing them.
+ *
+ * <p>Items are queued in a bounded buffer whose size is exposed as a gauge. Items that do not fit in the buffer or
+ * whose batch fails are counted as dropped.</p>
+ */
+@Slf4j
+public class BatchDispatcher<T> {
+
+  private static final long POLL_TIMEOUT_MS = 500;
+
+  /**
+   * Processes a batch of items, the list is reused for the next batch once this returns.
+   */
+  @FunctionalInterface
+  public interface BatchHandler<E> {
+    void handle(List<E> batch) throws Exception;
+  }
+
+  private final BlockingQueue<T> queue;
+  private final int batchSize;
+  private final BatchHandler<T> handler;
+  private final Counter dropped;
+  private final Thread thread;
+
+  private volatile boolean running = true;
+
+  /**
+   * @param name          of the dispatcher thread
+   * @param queueSizeName name of the gauge exposing the number of queued items
+   * @param dropped       counter of dropped items, owned by the caller so that it exists without a dispatcher
+   */
+  public BatchDispatcher(String name, int capacity, int batchSize, BatchHandler<T> handler,
+      MeterRegistry meterRegistry, String queueSizeName, Counter dropped) {
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.batchSize = Math.max(1, batchSize);
+    this.handler = handler;
+    this.dropped = dropped;
+    Gauge.builder(queueSizeName, this.queue, BlockingQueue::size).register(meterRegistry);
+    this.thread = new Thread(this::dispatch, name);
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Queues an item, it is dropped if the buffer is full.
+   */
+  public void offer(T item) {
+    if (!queue.offer(item)) {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Queues an item, waiting for room if the buffer is full. It is dropped if the current thread is interrupted.
+   */
+  public void put(T item) {
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      dropped.increment();
+    }
+  }
+
+  private void dispatch() {
+    List<T> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        T first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        handler.handle(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        dropped.increment(batch.size());
+        log.warn("Failed to process a batch of {} items on {}", batch.size(), thread.getName(), e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Waits for queued items to be processed.
+   */
+  public void close() throws InterruptedException {
+    running = false;
+    thread.join(TimeUnit.SECONDS.toMillis(10));
+  }
+
+}
@@ -0,0 +1,412 @@
+package com.symphony.bdk.workflow.engine;
+
+import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph.Gateway;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Frozen form of a {@link WorkflowDirectedGraph}, the one kept in cache for active and historical workflow versions.
+ *
+ * <p>Node ids are interned and indexed, edges are stored as arrays of node indexes and the activity/event definitions
+ * are dropped, only the attributes needed to query the graph (type, event id, conditions) are kept.</p>
+ *
+ * <p>The graph can be serialized to a binary form with {@link #toBytes()} to be stored along with the workflow.</p>
+ */
+public final class CompactWorkflowDirectedGraph {
+
+  private static final int[] NO_NODES = new int[0];
+  private static final String[] NO_CONDITIONS = new String[0];
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  // to be increased when the binary form changes, older forms are then ignored
+  private static final int FORMAT_VERSION = 2;
+
+  @Getter
+  private final String workflowId;
+  @Getter
+  private final Long version;
+  @Getter
+  private final Map<String, Object> variables;
+
+  /**
+   * Node ids, registered nodes first in registration order, then ids only referenced by edges.
+   */
+  private final String[] ids;
+  private final int registeredCount;
+  private final Map<String, Integer> indexes;
+
+  private final Class<?>[] wrappedTypes;
+  private final WorkflowNodeType[] elementTypes;
+  private final String[] eventIds;
+  private final Gateway[] gateways;
+  private final int[][] children;
+  private final int[][] parents;
+  /**
+   * Conditions to reach a node, conditionParents[i][j] being the parent for the condition conditions[i][j].
+   */
+  private final int[][] conditionParents;
+  private final String[][] conditions;
+  private final int[] startEvents;
+
+  private CompactWorkflowDirectedGraph(String workflowId, Long version, Map<String, Object> variables, String[] ids,
+      int registeredCount, Class<?>[] wrappedTypes, WorkflowNodeType[] elementTypes, String[] eventIds,
+      Gateway[] gateways, int[][] children, int[][] parents, int[][] conditionParents, String[][] conditions,
+      int[] startEvents) {
+    this.workflowId = workflowId;
+    this.version = version;
+    this.variables = Collections.unmodifiableMap(variables);
+    this.ids = ids;
+    this.registeredCount = registeredCount;
+    this.wrappedTypes = wrappedTypes;
+    this.elementTypes = elementTypes;
+    this.eventIds = eventIds;
+    this.gateways = gateways;
+    this.children = children;
+    this.parents = parents;
+    this.conditionParents = conditionParents;
+    this.conditions = conditions;
+    this.startEvents = startEvents;
+
+    this.indexes = new HashMap<>();
+    for (int i = 0; i < ids.length; i++) {
+      this.indexes.put(ids[i], i);
+    }
+  }
+
+  /**
+   * Freezes a graph built by {@link WorkflowDirectGraphBuilder}, later changes to the graph are not reflected.
+   */
+  public static CompactWorkflowDirectedGraph of(WorkflowDirectedGraph graph) {
+    Map<String, WorkflowNode> dictionary = graph.getDictionary();
+    List<String> allIds = new ArrayList<>(dictionary.keySet());
+    Map<String, Integer> indexes = new HashMap<>();
+    for (int i = 0; i < allIds.size(); i++) {
+      indexes.put(allIds.get(i), i);
+    }
+
+    int registeredCount = allIds.size();
+    int[][] childrenOf = new int[registeredCount][];
+    Gateway[] gatewayOf = new Gateway[registeredCount];
+    int[][] parentsOf = new int[registeredCount][];
+    int[][] conditionParentsOf = new int[registeredCount][];
+    String[][] conditionsOf = new String[registeredCount][];
+    for (int i = 0; i < registeredCount; i++) {
+      String id = allIds.get(i);
+      WorkflowDirectedGraph.NodeChildren nodeChildren = graph.readChildren(id);
+      if (nodeChildren != null) {
+        gatewayOf[i] = nodeChildren.getGateway();
+        childrenOf[i] = intern(nodeChildren.getChildren(), allIds, indexes);
+      }
+      parentsOf[i] = intern(graph.getParents(id), allIds, indexes);
+
+      Map<String, String> ifConditions = dictionary.get(id).getIfConditions();
+      conditionParentsOf[i] = intern(new ArrayList<>(ifConditions.keySet()), allIds, indexes);
+      conditionsOf[i] = ifConditions.isEmpty() ? NO_CONDITIONS : ifConditions.values().toArray(String[]::new);
+    }
+    int[] startEvents = intern(graph.getStartEvents(), allIds, indexes);
+
+    int size = allIds.size();
+    String[] ids = new String[size];
+    Class<?>[] wrappedTypes = new Class<?>[size];
+    WorkflowNodeType[] elementTypes = new WorkflowNodeType[size];
+    String[] eventIds = new String[size];
+    int[][] children = new int[size][];
+    int[][] parents = new int[size][];
+    int[][] conditionParents = new int[size][];
+    String[][] conditions = new String[size][];
+    for (int i = 0; i < size; i++) {
+      ids[i] = allIds.get(i).intern();
+      boolean registered = i < registeredCount;
+      children[i] = registered && childrenOf[i] != null ? childrenOf[i] : NO_NODES;
+      parents[i] = registered ? parentsOf[i] : NO_NODES;
+      conditionParents[i] = registered ? conditionParentsOf[i] : NO_NODES;
+      conditions[i] = registered ? conditionsOf[i] : NO_CONDITIONS;
+      if (registered) {
+        WorkflowNode node = dictionary.get(ids[i]);
+        wrappedTypes[i] = node.getWrappedType();
+        elementTypes[i] = node.getElementType();
+        eventIds[i] = node.getEventId() == null ? null : node.getEventId().intern();
+      }
+    }
+
+    return new CompactWorkflowDirectedGraph(graph.getWorkflowId(), graph.getVersion(),
+        new HashMap<>(graph.getVariables()), ids, registeredCount, wrappedTypes, elementTypes, eventIds,
+        Arrays.copyOf(gatewayOf, size), children, parents, conditionParents, conditions, startEvents);
+  }
+
+  // ids referenced by edges but not registered are added at the end of the table
+  private static int[] intern(List<String> nodeIds, List<String> allIds, Map<String, Integer> indexes) {
+    if (nodeIds.isEmpty()) {
+      return NO_NODES;
+    }
+    int[] result = new int[nodeIds.size()];
+    for (int i = 0; i < result.length; i++) {
+      String id = nodeIds.get(i);
+      Integer index = indexes.get(id);
+      if (index == null) {
+        index = allIds.size();
+        allIds.add(id);
+        indexes.put(id, index);
+      }
+      result[i] = index;
+    }
+    return result;
+  }
+
+  /**
+   * Registered node ids, in registration order.
+   */
+  public List<String> getNodeIds() {
+    return Collections.unmodifiableList(Arrays.asList(this.ids).subList(0, this.registeredCount));
+  }
+
+  public int size() {
+    return this.registeredCount;
+  }
+
+  public boolean isRegistered(String id) {
+    Integer index = this.indexes.get(id);
+    return index != null && index < this.registeredCount;
+  }
+
+  public List<String> getStartEvents() {
+    return toIds(this.startEvents);
+  }
+
+  @Nullable
+  public Class<?> getWrappedType(String id) {
+    return read(this.wrappedTypes, id);
+  }
+
+  @Nullable
+  public WorkflowNodeType getElementType(String id) {
+    return read(this.elementTypes, id);
+  }
+
+  @Nullable
+  public String getEventId(String id) {
+    return read(this.eventIds, id);
+  }
+
+  @Nullable
+  public Gateway getGateway(String id) {
+    return read(this.gateways, id);
+  }
+
+  /**
+   * @return the children ids of the node, empty if none or if the node is unknown.
+   */
+  public List<String> getChildren(String id) {
+    Integer index = this.indexes.get(id);
+    return index == null ? Collections.emptyList() : toIds(this.children[index]);
+  }
+
+  /**
+   * @return the parent ids of the node, empty if none or if the node is unknown.
+   */
+  public List<String> getParents(String id) {
+    Integer index = this.indexes.get(id);
+    return index == null ? Collections.emptyList() : toIds(this.parents[index]);
+  }
+
+  /**
+   * @return the condition to go from the parent to the node, null if unconditional.
+   */
+  @Nullable
+  public String getIfCondition(String id, String parentId) {
+    Integer index = this.indexes.get(id);
+    Integer parentIndex = this.indexes.get(parentId);
+    if (index == null || parentIndex == null) {
+      return null;
+    }
+    int[] nodeConditionParents = this.conditionParents[index];
+    for (int i = 0; i < nodeConditionParents.length; i++) {
+      if (nodeConditionParents[i] == parentIndex) {
+        return this.conditions[index][i];
+      }
+    }
+    return null;
+  }
+
+  private <T> T read(T[] attributes, String id) {
+    Integer index = this.indexes.get(id);
+    return index == null ? null : attributes[index];
+  }
+
+  private List<String> toIds(int[] nodes) {
+    if (nodes.length == 0) {
+      return Collections.emptyList();
+    }
+    String[] result = new String[nodes.length];
+    for (int i = 0; i < nodes.length; i++) {
+      result[i] = this.ids[nodes[i]];
+    }
+    return Arrays.asList(result);
+  }
+
+  /**
+   * Binary form of the graph, node attributes and edges refer to nodes by their index.
+   */
+  public byte[] toBytes() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(FORMAT_VERSION);
+      writeString(out, this.workflowId);
+      out.writeBoolean(this.version != null);
+      if (this.version != null) {
+        out.writeLong(this.version);
+      }
+      byte[] variablesJson = OBJECT_MAPPER.writeValueAsBytes(this.variables);
+      out.writeInt(variablesJson.length);
+      out.write(variablesJson);
+
+      out.writeInt(this.ids.length);
+      out.writeInt(this.registeredCount);
+      for (int i = 0; i < this.ids.length; i++) {
+        writeString(out, this.ids[i]);
+        writeNullable(out, this.wrappedTypes[i] == null ? null : this.wrappedTypes[i].getName());
+        writeNullable(out, this.elementTypes[i] == null ? null : this.elementTypes[i].name());
+        writeNullable(out, this.eventIds[i]);
+        writeNullable(out, this.gateways[i] == null ? null : this.gateways[i].name());
+        writeIndexes(out, this.children[i]);
+        writeIndexes(out, this.parents[i]);
+        writeIndexes(out, this.conditionParents[i]);
+        for (String condition : this.conditions[i]) {
+          writeString(out, condition);
+        }
+      }
+      writeIndexes(out, this.startEvents);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads a graph written by {@link #toBytes()}.
+   *
+   * @throws IOException if the binary form is invalid, from another format version or refers to unknown classes.
+   */
+  public static CompactWorkflowDirectedGraph fromBytes(byte[] data) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+      int formatVersion = in.readInt();
+      if (formatVersion != FORMAT_VERSION) {
+        throw new IOException("Unsupported directed graph format version " + formatVersion);
+      }
+      String workflowId = readString(in);
+      Long version = in.readBoolean() ? in.readLong() : null;
+      byte[] variablesJson = new byte[in.readInt()];
+      in.readFully(variablesJson);
+      Map<String, Object> variables = OBJECT_MAPPER.readValue(variablesJson, new TypeReference<>() {});
+
+      int size = in.readInt();
+      int registeredCount = in.readInt();
+      String[] ids = new String[size];
+      Class<?>[] wrappedTypes = new Class<?>[size];
+      WorkflowNodeType[] elementTypes = new WorkflowNodeType[size];
+      String[] eventIds = new String[size];
+      Gateway[] gateways = new Gateway[size];
+      int[][] children = new int[size][];
+      int[][] parents = new int[size][];
+      int[][] conditionParents = new int[size][];
+      String[][] conditions = new String[size][];
+      for (int i = 0; i < size; i++) {
+        ids[i] = readString(in).intern();
+        String wrappedType = readNullable(in);
+        wrappedTypes[i] = wrappedType == null ? null : loadClass(wrappedType);
+        String elementType = readNullable(in);
+        elementTypes[i] = elementType == null ? null : WorkflowNodeType.valueOf(elementType);
+        String eventId = readNullable(in);
+        eventIds[i] = eventId == null ? null : eventId.intern();
+        String gateway = readNullable(in);
+        gateways[i] = gateway == null ? null : Gateway.valueOf(gateway);
+        children[i] = readIndexes(in);
+        parents[i] = readIndexes(in);
+        conditionParents[i] = readIndexes(in);
+        conditions[i] = conditionParents[i].length == 0 ? NO_CONDITIONS : new String[conditionParents[i].length];
+        for (int j = 0; j < conditions[i].length; j++) {
+          conditions[i][j] = readString(in);
+        }
+      }
+      int[] startEvents = readIndexes(in);
+
+      return new CompactWorkflowDirectedGraph(workflowId, version, variables, ids, registeredCount, wrappedTypes,
+          elementTypes, eventIds, gateways, children, parents, conditionParents, conditions, startEvents);
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new IOException("Invalid directed graph", e);
+    }
+  }
+
+  private static Class<?> loadClass(String name) throws IOException {
+    try {
+      // wrapped types can be custom activities
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+      return Class.forName(name, false,
+          classLoader != null ? classLoader : CompactWorkflowDirectedGraph.class.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Unknown node type " + name, e);
+    }
+  }
+
+  private static void writeNullable(DataOutputStream out, @Nullable String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      writeString(out, value);
+    }
+  }
+
+  @Nullable
+  private static String readNullable(DataInputStream in) throws IOException {
+    return in.readBoolean() ? readString(in) : null;
+  }
+
+  // writeUTF is limited to 65535 bytes, conditions can be longer scripts
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > in.available()) {
+      throw new IOException("Invalid string length " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeIndexes(DataOutputStream out, int[] nodes) throws IOException {
+    out.writeInt(nodes.length);
+    for (int node : nodes) {
+      out.writeInt(node);
+    }
+  }
+
+  private static int[] readIndexes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == 0) {
+      return NO_NODES;
+    }
+    int[] nodes = new int[length];
+    for (int i = 0; i < length; i++) {
+      nodes[i] = in.readInt();
+    }
+    return nodes;
+  }
+
+}
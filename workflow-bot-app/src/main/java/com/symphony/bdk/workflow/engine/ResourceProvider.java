@@ -16,4 +16,11 @@ public interface ResourceProvider {
   File getResourceFile(Path relativePath) throws IOException;
 
   Path saveResource(Path relativePath, byte[] content) throws IOException;
+
+  /**
+   * Saves a resource read from a stream, implementations should avoid loading it entirely in memory.
+   */
+  default Path saveResource(Path relativePath, InputStream content) throws IOException {
+    return saveResource(relativePath, content.readAllBytes());
+  }
 }
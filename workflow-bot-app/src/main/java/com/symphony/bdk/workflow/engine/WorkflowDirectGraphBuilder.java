@@ -135,7 +135,7 @@ public class WorkflowDirectGraphBuilder {
             .setElementType(WorkflowNodeType.ACTIVITY_FAILED_EVENT);
       } else if (event.getActivityCompleted() != null) {
         eventNodeId = event.getActivityCompleted().getActivityId();
-        validateActivityCompletedNodeId(eventNodeId, activityId, workflow);
+        validateActivityCompletedNodeId(eventNodeId, activityId, workflow.getId(), directGraph);
         directGraph.readWorkflowNode(eventNodeId).setElementType(WorkflowNodeType.ACTIVITY_COMPLETED_EVENT);
         BaseActivity currentActivity = activity.getActivity();
         Optional<String> condition = retrieveCondition(event.getActivityCompleted(), currentActivity);
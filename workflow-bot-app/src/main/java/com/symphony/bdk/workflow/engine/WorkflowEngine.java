@@ -4,12 +4,27 @@ import com.symphony.bdk.spring.events.RealTimeEvent;
 import com.symphony.bdk.workflow.exception.UnauthorizedException;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
+import java.util.List;
+import java.util.Map;
+
 public interface WorkflowEngine<K extends TranslatedWorkflowContext> {
 
   String deploy(Workflow workflow);
 
   String deploy(K workflowContext);
 
+  /**
+   * Deploys several translated workflows, in as few transactions as possible.
+   *
+   * @return deployment ids by workflow id, workflows that failed to be deployed are not included
+   */
+  Map<String, String> deployAll(List<K> workflowContexts);
+
+  /**
+   * @return true if the workflow is already deployed with the same content, deploying it again would be a no-op
+   */
+  boolean isDeployed(Workflow workflow);
+
   K translate(Workflow workflow);
 
   void execute(String workflowId, ExecutionParameters parameters) throws UnauthorizedException;
@@ -73,6 +73,13 @@ public class WorkflowNode {
     return this.ifConditions.get(parentId);
   }
 
+  /**
+   * @return true if the event was given an id in SWADL, otherwise its id defaults to the node id.
+   */
+  public boolean hasDeclaredEventId() {
+    return this.eventId != null && !this.eventId.equals(this.id);
+  }
+
   public boolean isNotExclusiveFormReply() {
     return getElementType() == WorkflowNodeType.FORM_REPLIED_EVENT && !getEvent().getFormReplied().getExclusive();
   }
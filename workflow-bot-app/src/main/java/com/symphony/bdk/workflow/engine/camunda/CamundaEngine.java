@@ -8,28 +8,42 @@ import com.symphony.bdk.workflow.engine.ExecutionParameters;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder;
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
+import com.symphony.bdk.workflow.engine.handler.metrics.WorkflowMetricsAction;
 import com.symphony.bdk.workflow.event.RealTimeEventProcessor;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.exception.UnauthorizedException;
 import com.symphony.bdk.workflow.swadl.exception.UniqueIdViolationException;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.event.RequestReceivedEvent;
+import com.symphony.bdk.workflow.tracing.Span;
+import com.symphony.bdk.workflow.tracing.Tracer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.spring.SpringProcessEngineConfiguration;
 import org.camunda.bpm.model.xml.ModelValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 @Slf4j
 @Component
@@ -43,30 +57,159 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
 
   private final AuditTrailLogAction auditTrailLogger;
 
+  private final WorkflowMetricsAction metricsAction;
+
+  private final String botVersion;
+
+  private final String historyTimeToLive;
+
+  private final Counter skippedDeployments;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final Tracer tracer;
+
   @Autowired
   public CamundaEngine(RepositoryService repositoryService, CamundaBpmnBuilder bpmnBuilder,
-      List<RealTimeEventProcessor<?>> processors, AuditTrailLogAction auditTrailLogger) {
+      List<RealTimeEventProcessor<?>> processors, AuditTrailLogAction auditTrailLogger,
+      WorkflowMetricsAction metricsAction, MeterRegistry meterRegistry,
+      SpringProcessEngineConfiguration processEngineConfiguration, Tracer tracer,
+      @Value("${version:}") String botVersion,
+      @Value("${wdk.properties.history.time-to-live:}") String historyTimeToLive) {
     this.repositoryService = repositoryService;
     this.bpmnBuilder = bpmnBuilder;
     processorRegistry =
         processors.stream().collect(Collectors.toMap(p -> p.sourceType().getSimpleName(), Function.identity()));
     this.auditTrailLogger = auditTrailLogger;
+    this.metricsAction = metricsAction;
+    this.botVersion = botVersion;
+    this.historyTimeToLive = historyTimeToLive;
+    this.skippedDeployments = Counter.builder("workflow.deploy.skipped")
+        .description("Deployments skipped because the workflow is already deployed with the same content")
+        .register(meterRegistry);
+    // Camunda commands join the surrounding transaction of its own transaction manager
+    this.transactionTemplate = new TransactionTemplate(processEngineConfiguration.getTransactionManager());
+    this.tracer = tracer;
   }
 
   @Override
   public String deploy(Workflow workflow) {
-    CamundaTranslatedWorkflowContext context = translate(workflow);
-    return deploy(context);
+    String deploymentHash = deploymentHash(workflow);
+    Optional<Deployment> unchanged = findUnchangedDeployment(workflow, deploymentHash);
+    if (unchanged.isPresent()) {
+      // the directed graph is usually computed as part of the translation
+      bpmnBuilder.putDirectedGraph(workflow);
+      return skipDeployment(unchanged.get());
+    }
+    return deployChanged(translate(workflow), deploymentHash);
   }
 
   @Override
   public String deploy(CamundaTranslatedWorkflowContext context) {
-    Deployment deployment = bpmnBuilder.deployWorkflow(context);
-    log.info("Deployed workflow {} {}", deployment.getId(), deployment.getName());
-    auditTrailLogger.deployed(deployment);
+    String deploymentHash = deploymentHash(context.getWorkflow());
+    Optional<Deployment> unchanged = findUnchangedDeployment(context.getWorkflow(), deploymentHash);
+    if (unchanged.isPresent()) {
+      return skipDeployment(unchanged.get());
+    }
+    return deployChanged(context, deploymentHash);
+  }
+
+  /**
+   * Deploys a workflow already known not to be deployed with the given hash.
+   */
+  private String deployChanged(CamundaTranslatedWorkflowContext context, @Nullable String deploymentHash) {
+    Deployment deployment = bpmnBuilder.deployWorkflow(context, deploymentHash);
+    // within a batch, the deployment only exists once the batch is committed
+    afterCommit(() -> {
+      bpmnBuilder.putDirectedGraph(context);
+      log.info("Deployed workflow {} {}", deployment.getId(), deployment.getName());
+      auditTrailLogger.deployed(deployment);
+      metricsAction.onWorkflowDeployed();
+    });
     return deployment.getId();
   }
 
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  @Override
+  public Map<String, String> deployAll(List<CamundaTranslatedWorkflowContext> contexts) {
+    Map<String, String> deployments = new LinkedHashMap<>();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        for (CamundaTranslatedWorkflowContext context : contexts) {
+          deployments.put(context.getWorkflow().getId(), deploy(context));
+        }
+      });
+      return deployments;
+    } catch (RuntimeException e) {
+      log.warn("Failed to deploy {} workflows at once, deploying them one by one", contexts.size(), e);
+    }
+
+    deployments.clear();
+    for (CamundaTranslatedWorkflowContext context : contexts) {
+      try {
+        deployments.put(context.getWorkflow().getId(), deploy(context));
+      } catch (RuntimeException e) {
+        log.error("Failed to deploy workflow {}", context.getWorkflow().getId(), e);
+      }
+    }
+    return deployments;
+  }
+
+  @Override
+  public boolean isDeployed(Workflow workflow) {
+    return findUnchangedDeployment(workflow, deploymentHash(workflow)).isPresent();
+  }
+
+  private String skipDeployment(Deployment deployment) {
+    log.info("Workflow {} is unchanged, reusing deployment {}", deployment.getName(), deployment.getId());
+    skippedDeployments.increment();
+    return deployment.getId();
+  }
+
+  /**
+   * The latest deployment of a workflow is reused if it has been deployed from the same SWADL content, version and
+   * bot version. Older deployments are not, they would not be the active one.
+   */
+  private Optional<Deployment> findUnchangedDeployment(Workflow workflow, @Nullable String deploymentHash) {
+    if (deploymentHash == null) {
+      return Optional.empty();
+    }
+    return repositoryService.createDeploymentQuery()
+        .deploymentName(workflow.getId())
+        .orderByDeploymentTime()
+        .desc()
+        .listPage(0, 1)
+        .stream()
+        .findFirst()
+        .filter(deployment -> deploymentHash.equals(deployment.getSource()));
+  }
+
+  private String deploymentHash(Workflow workflow) {
+    if (workflow.getContentHash() == null) {
+      return null;
+    }
+    // the global time to live is set on process definitions when they are deployed, changing it redeploys workflows
+    String effectiveTimeToLive = Optional.ofNullable(workflow.getProperties().getHistoryTimeToLive())
+        .map(String::valueOf)
+        .orElse(historyTimeToLive);
+    return Hashing.sha256()
+        .hashString(String.join(":", workflow.getContentHash(), String.valueOf(workflow.getVersion()), botVersion,
+            effectiveTimeToLive), StandardCharsets.UTF_8)
+        .toString();
+  }
+
   @Override
   public CamundaTranslatedWorkflowContext translate(Workflow workflow) {
     checkUniquenessOfActivitiesId(workflow);
@@ -107,8 +250,8 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
     // dispatch event
     try {
       RealTimeEvent<RequestReceivedEvent> event = toRealTimeEvent(parameters, processDefinition.getName());
-      ((RealTimeEventProcessor<RequestReceivedEvent>) processorRegistry.get(
-          event.getSource().getClass().getSimpleName())).process(event);
+      dispatch((RealTimeEventProcessor<RequestReceivedEvent>) processorRegistry.get(
+          event.getSource().getClass().getSimpleName()), event);
     } catch (Exception e) {
       log.debug("Failed to parse MessageML, should not happen", e);
       throw new RuntimeException(e);
@@ -133,6 +276,7 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
     repositoryService.deleteDeployment(deployment.getId(), true);
     log.info("Removed workflow {}", deployment.getName());
     auditTrailLogger.undeployed(deployment);
+    afterCommit(metricsAction::onWorkflowUndeployed);
   }
 
   @Override
@@ -151,12 +295,31 @@ public class CamundaEngine implements WorkflowEngine<CamundaTranslatedWorkflowCo
       // However many tests are still injecting the raw event type, so we do the check as below
       Class<?> clazz = EventPayload.class.isAssignableFrom(event.getSource().getClass()) ?
           event.getSource().getClass().getSuperclass() : event.getSource().getClass();
-      ((RealTimeEventProcessor<T>) processorRegistry.get(clazz.getSimpleName())).process(event);
+      dispatch((RealTimeEventProcessor<T>) processorRegistry.get(clazz.getSimpleName()), event);
     } catch (Exception e) {
       log.error("This error happens when the incoming event has an invalid PresentationML message", e);
     }
   }
 
+  /**
+   * Starts the trace of an event, processors read its context from the MDC to propagate it to the processes they
+   * signal.
+   */
+  private <T> void dispatch(RealTimeEventProcessor<T> processor, RealTimeEvent<T> event) throws Exception {
+    Span span = tracer.startSpan("event.dispatch", null)
+        .tag("event.type", processor.sourceType().getSimpleName());
+    String previousTraceparent = Tracer.setCurrentTraceparent(span.traceparent());
+    try {
+      processor.process(event);
+    } catch (Exception e) {
+      span.error(e);
+      throw e;
+    } finally {
+      Tracer.setCurrentTraceparent(previousTraceparent);
+      span.end();
+    }
+  }
+
   private void checkUniquenessOfActivitiesId(Workflow workflow) {
     List<String> duplicatedIds = workflow.getActivities()
         .stream()
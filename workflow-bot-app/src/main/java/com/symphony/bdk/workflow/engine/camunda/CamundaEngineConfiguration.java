@@ -1,5 +1,8 @@
 package com.symphony.bdk.workflow.engine.camunda;
 
+import com.symphony.bdk.workflow.engine.camunda.history.WorkflowHistoryLevel;
+import com.symphony.bdk.workflow.engine.camunda.script.CompiledScriptFactory;
+import com.symphony.bdk.workflow.engine.camunda.script.ScriptBudgetEnforcer;
 import com.symphony.bdk.workflow.engine.executor.BdkGateway;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 
@@ -31,8 +34,17 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
 
   private final SharedDataStore sharedDataStore;
 
+  private final CompiledScriptFactory scriptFactory;
+
+  private final ScriptBudgetEnforcer scriptBudgetEnforcer;
+
   @Override
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    // scripts are compiled when workflows are deployed rather than on their first execution
+    processEngineConfiguration.setScriptFactory(this.scriptFactory);
+    // history can be reduced per workflow, on top of the configured history level
+    WorkflowHistoryLevel.install(processEngineConfiguration);
+
     ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
     expressionManager.addFunction(UtilityFunctionsMapper.TEXT,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.TEXT, String.class));
@@ -56,6 +68,15 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
     expressionManager.addFunction(UtilityFunctionsMapper.WRITESHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.WRITESHARED, String.class,
             String.class, Object.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.INCREMENTSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.INCREMENTSHARED, String.class,
+            String.class, long.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.COMPAREANDSETSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.COMPAREANDSETSHARED, String.class,
+            String.class, Object.class, Object.class));
+    expressionManager.addFunction(UtilityFunctionsMapper.PUTSHAREDIFABSENT,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, UtilityFunctionsMapper.PUTSHAREDIFABSENT, String.class,
+            String.class, Object.class));
   }
 
   @Override
@@ -68,13 +89,14 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
 
   // By default, script exceptions (except for BPMNError) are not failing the script task
   // We change this behavior to wrap any script exception in a BpmnError to handle errors with activity-failed
+  // Scripts are also run within their budget, exceeding it fails the script task the same way
   private void handleScriptExceptionsAsBpmnErrors(ProcessEngineConfigurationImpl processEngineConfiguration) {
     ScriptingEnvironment scriptingEnvironment = processEngineConfiguration.getScriptingEnvironment();
     processEngineConfiguration.setScriptingEnvironment(new ScriptingEnvironment(null, null, null) {
       @Override
       public Object execute(ExecutableScript script, VariableScope scope) {
         try {
-          return scriptingEnvironment.execute(script, scope);
+          return scriptBudgetEnforcer.execute(scope, () -> scriptingEnvironment.execute(script, scope));
         } catch (Exception e) {
           log.error("Failed to execute script", e);
           throw new BpmnError("FAILURE", e);
@@ -85,7 +107,8 @@ public class CamundaEngineConfiguration implements ProcessEnginePlugin {
       public Object execute(ExecutableScript script, VariableScope scope, Bindings bindings,
           ScriptEngine scriptEngine) {
         try {
-          return scriptingEnvironment.execute(script, scope, bindings, scriptEngine);
+          return scriptBudgetEnforcer.execute(scope,
+              () -> scriptingEnvironment.execute(script, scope, bindings, scriptEngine));
         } catch (Exception e) {
           log.error("Failed to execute script", e);
           throw new BpmnError("FAILURE", e);
@@ -10,6 +10,8 @@ import com.symphony.bdk.workflow.engine.executor.EventHolder;
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+import com.symphony.bdk.workflow.tracing.Span;
+import com.symphony.bdk.workflow.tracing.Tracer;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
@@ -19,10 +21,18 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.value.ObjectValue;
 import org.slf4j.MDC;
@@ -38,10 +48,14 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -49,6 +63,11 @@ public class CamundaExecutor implements JavaDelegate {
 
   public static final String EXECUTOR = "executor";
   public static final String ACTIVITY = "activity";
+  public static final String ACTIVITY_TIMER = "workflow.activity.execution";
+  public static final String OUTCOME_SUCCESS = "success";
+  public static final String OUTCOME_FAILURE = "failure";
+  public static final String EVENT_LATENCY_TIMER = "workflow.event.latency";
+  public static final String JOB_ACQUISITION_TIMER = "workflow.job.acquisition.delay";
 
   public static final ObjectMapper OBJECT_MAPPER;
 
@@ -77,14 +96,24 @@ public class CamundaExecutor implements JavaDelegate {
   private final AuditTrailLogAction auditTrailLogger;
   private final ResourceProvider resourceLoader;
   private final ApplicationContext applicationContext;
+  private final MeterRegistry meterRegistry;
+  private final Tracer tracer;
+  // events and jobs whose latency has been recorded, only their first activity is measured
+  private final Cache<String, Boolean> measured = Caffeine.newBuilder()
+      .maximumSize(10_000)
+      .expireAfterWrite(Duration.ofHours(1))
+      .build();
 
   public CamundaExecutor(BdkGateway bdk, SharedDataStore sharedDataStore, AuditTrailLogAction auditTrailLogger,
-      @Qualifier("workflowResourcesProvider") ResourceProvider resourceLoader, ApplicationContext applicationContext) {
+      @Qualifier("workflowResourcesProvider") ResourceProvider resourceLoader, ApplicationContext applicationContext,
+      MeterRegistry meterRegistry, Tracer tracer) {
     this.bdk = bdk;
     this.sharedDataStore = sharedDataStore;
     this.auditTrailLogger = auditTrailLogger;
     this.resourceLoader = resourceLoader;
     this.applicationContext = applicationContext;
+    this.meterRegistry = meterRegistry;
+    this.tracer = tracer;
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -113,21 +142,86 @@ public class CamundaExecutor implements JavaDelegate {
         (BaseActivity) OBJECT_MAPPER.readValue(activityAsJsonString, Class.forName(type.getTypeName()));
 
     EventHolder event = (EventHolder) execution.getVariable(ActivityExecutorContext.EVENT);
-
+    String workflow = ((ExecutionEntity) execution).getProcessDefinition().getKey();
+    String traceparent = event == null ? null : event.getTraceparent();
+    recordJobAcquisitionDelay(workflow, traceparent);
+    recordEventLatency(execution, workflow, event);
+
+    Span span = tracer.startSpan("activity", traceparent)
+        .tag("workflow", workflow)
+        .tag("activity.id", activity.getId())
+        .tag("activity.type", activity.getClass().getSimpleName())
+        .tag("process.instance.id", execution.getProcessInstanceId());
+    // outbound calls made by the activity are part of the trace
+    String previousTraceparent = Tracer.setCurrentTraceparent(span.traceparent());
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = OUTCOME_FAILURE;
     try {
       setMdc(execution);
       auditTrailLogger.execute(execution, activity.getClass().getSimpleName());
       executor.execute(
           new CamundaActivityExecutorContext(execution, activity, event, resourceLoader, bdk, sharedDataStore));
+      outcome = OUTCOME_SUCCESS;
     } catch (Exception e) {
+      span.error(e);
       log.error(String.format("Activity from workflow %s failed", execution.getProcessDefinitionId()), e);
       logErrorVariables(execution, activity, e);
       throw new BpmnError("FAILURE", e);
     } finally {
+      sample.stop(activityTimer(workflow, activity, outcome));
+      span.tag("outcome", outcome).end();
+      Tracer.setCurrentTraceparent(previousTraceparent);
       clearMdc();
     }
   }
 
+  private Timer activityTimer(String workflow, BaseActivity activity, String outcome) {
+    return Timer.builder(ACTIVITY_TIMER)
+        .description("Execution time of activities")
+        .tag("workflow", workflow)
+        .tag("type", activity.getClass().getSimpleName())
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Time between the moment a job can be run (its due date, or its creation for async continuations that have none) and
+   * its execution, measured when run by the job executor.
+   */
+  private void recordJobAcquisitionDelay(String workflow, String traceparent) {
+    JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
+    JobEntity job = jobExecutorContext == null ? null : jobExecutorContext.getCurrentJob();
+    Date runnableSince = job == null ? null : Optional.ofNullable(job.getDuedate()).orElse(job.getCreateTime());
+    if (runnableSince == null || measured.asMap().putIfAbsent("job/" + job.getId(), true) != null) {
+      return;
+    }
+    long delayMs = Math.max(0, System.currentTimeMillis() - runnableSince.getTime());
+    Timer.builder(JOB_ACQUISITION_TIMER)
+        .description("Time async continuations wait to be picked up by the job executor")
+        .tag("workflow", workflow)
+        .register(meterRegistry)
+        .record(delayMs, TimeUnit.MILLISECONDS);
+    tracer.startSpan("job.acquisition", traceparent, Tracer.toEpochNanos(runnableSince.toInstant()))
+        .tag("workflow", workflow)
+        .tag("job.id", job.getId())
+        .end();
+  }
+
+  /**
+   * Time between the creation of the event a process reacts to and the process' first activity.
+   */
+  private void recordEventLatency(DelegateExecution execution, String workflow, EventHolder<?> event) {
+    if (event == null || event.getTimestamp() == null
+        || measured.asMap().putIfAbsent(execution.getProcessInstanceId() + "/" + event.getTimestamp(), true) != null) {
+      return;
+    }
+    Timer.builder(EVENT_LATENCY_TIMER)
+        .description("Time from the creation of an event to the first activity it triggers")
+        .tag("workflow", workflow)
+        .register(meterRegistry)
+        .record(Math.max(0, System.currentTimeMillis() - event.getTimestamp()), TimeUnit.MILLISECONDS);
+  }
+
   private static void logErrorVariables(DelegateExecution execution, BaseActivity activity, Exception e) {
     Map<String, Object> innerMap = new HashMap<>();
     innerMap.put("message", e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
@@ -256,5 +350,10 @@ public class CamundaExecutor implements JavaDelegate {
       return resourceLoader.saveResource(resourcePath, content);
     }
 
+    @Override
+    public Path saveResource(Path resourcePath, InputStream content) throws IOException {
+      return resourceLoader.saveResource(resourcePath, content);
+    }
+
   }
 }
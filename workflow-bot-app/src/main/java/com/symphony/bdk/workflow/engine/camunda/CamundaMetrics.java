@@ -32,14 +32,15 @@ public class CamundaMetrics implements WorkflowEngineMetrics {
 
   @Override
   public long countRunningActivities() {
-    return runtimeService.createExecutionQuery().active().count();
+    // exclude events
+    return historyService.createHistoricActivityInstanceQuery().activityType("scriptTask").unfinished().count()
+        + historyService.createHistoricActivityInstanceQuery().activityType("serviceTask").unfinished().count();
   }
 
   @Override
   public long countCompletedActivities() {
-    return historyService.createHistoricActivityInstanceQuery()
-        .activityType("scriptTask").activityType("serviceTask") // exclude events
-        .finished().count();
-
+    // exclude events
+    return historyService.createHistoricActivityInstanceQuery().activityType("scriptTask").finished().count()
+        + historyService.createHistoricActivityInstanceQuery().activityType("serviceTask").finished().count();
   }
 }
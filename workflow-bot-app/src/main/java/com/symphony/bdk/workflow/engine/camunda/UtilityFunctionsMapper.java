@@ -58,6 +58,9 @@ public class UtilityFunctionsMapper extends FunctionMapper {
   public static final String SESSION = "session";
   public static final String READSHARED = "readShared";
   public static final String WRITESHARED = "writeShared";
+  public static final String INCREMENTSHARED = "incrementShared";
+  public static final String COMPAREANDSETSHARED = "compareAndSetShared";
+  public static final String PUTSHAREDIFABSENT = "putSharedIfAbsent";
 
   private static final Map<String, Method> FUNCTION_MAP;
   private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -76,6 +79,13 @@ public class UtilityFunctionsMapper extends FunctionMapper {
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, READSHARED, String.class, String.class));
     FUNCTION_MAP.put(WRITESHARED,
         ReflectUtil.getMethod(UtilityFunctionsMapper.class, WRITESHARED, String.class, String.class, Object.class));
+    FUNCTION_MAP.put(INCREMENTSHARED,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, INCREMENTSHARED, String.class, String.class, long.class));
+    FUNCTION_MAP.put(COMPAREANDSETSHARED, ReflectUtil.getMethod(UtilityFunctionsMapper.class, COMPAREANDSETSHARED,
+        String.class, String.class, Object.class, Object.class));
+    FUNCTION_MAP.put(PUTSHAREDIFABSENT,
+        ReflectUtil.getMethod(UtilityFunctionsMapper.class, PUTSHAREDIFABSENT, String.class, String.class,
+            Object.class));
   }
 
   @Override
@@ -96,13 +106,25 @@ public class UtilityFunctionsMapper extends FunctionMapper {
   }
 
   public static Object readShared(String namespace, String key) {
-    return sharedDataStore.getNamespaceData(namespace).get(key);
+    return sharedDataStore.getData(namespace, key);
   }
 
   public static void writeShared(String namespace, String key, Object data) {
     sharedDataStore.putNamespaceData(namespace, key, data);
   }
 
+  public static long incrementShared(String namespace, String key, long delta) {
+    return sharedDataStore.increment(namespace, key, delta);
+  }
+
+  public static boolean compareAndSetShared(String namespace, String key, Object expected, Object data) {
+    return sharedDataStore.compareAndSet(namespace, key, expected, data);
+  }
+
+  public static Object putSharedIfAbsent(String namespace, String key, Object data) {
+    return sharedDataStore.putIfAbsent(namespace, key, data);
+  }
+
   public static String text(String presentationMl) throws PresentationMLParserException {
     return PresentationMLParser.getTextContent(presentationMl);
   }
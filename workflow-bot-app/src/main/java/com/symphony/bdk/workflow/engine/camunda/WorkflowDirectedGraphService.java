@@ -2,8 +2,8 @@ package com.symphony.bdk.workflow.engine.camunda;
 
 import com.symphony.bdk.core.service.session.SessionService;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowDirectGraphBuilder;
-import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.versioning.model.VersionedWorkflow;
 import com.symphony.bdk.workflow.versioning.repository.VersionedWorkflowRepository;
@@ -28,8 +28,9 @@ public class WorkflowDirectedGraphService {
   private final SessionService sessionService;
   private final ObjectConverter objectConverter;
 
-  @Cacheable(value = ACTIVE_WORKFLOW_DIRECTED_GRAPH)
-  public WorkflowDirectedGraph getDirectedGraph(String id) {
+  // sync: concurrent misses for the same workflow build the graph once
+  @Cacheable(value = ACTIVE_WORKFLOW_DIRECTED_GRAPH, sync = true)
+  public CompactWorkflowDirectedGraph getDirectedGraph(String id) {
     log.debug("Workflow [{}] is not missing in cache", id);
     if (versionedWorkflowRepository.isEmpty()) {
       return null;
@@ -38,8 +39,8 @@ public class WorkflowDirectedGraphService {
     return mapToDirectedGraph(() -> versionedWorkflowRepository.get().findByWorkflowIdAndActiveTrue(id));
   }
 
-  @Cacheable(WORKFLOW_DIRECTED_GRAPH)
-  public WorkflowDirectedGraph getDirectedGraph(String id, Long version) {
+  @Cacheable(value = WORKFLOW_DIRECTED_GRAPH, sync = true)
+  public CompactWorkflowDirectedGraph getDirectedGraph(String id, Long version) {
     log.debug("Workflow [{}] is not missing in cache", id);
     if (versionedWorkflowRepository.isEmpty()) {
       return null;
@@ -48,17 +49,22 @@ public class WorkflowDirectedGraphService {
     return mapToDirectedGraph(() -> versionedWorkflowRepository.get().findByWorkflowIdAndVersion(id, version));
   }
 
-  private WorkflowDirectedGraph mapToDirectedGraph(Supplier<Optional<VersionedWorkflow>> supplier) {
+  private CompactWorkflowDirectedGraph mapToDirectedGraph(Supplier<Optional<VersionedWorkflow>> supplier) {
     Optional<VersionedWorkflow> workflow = supplier.get();
-    WorkflowDirectedGraph directedGraph =
+    if (workflow.isPresent() && workflow.get().getDirectedGraph() != null) {
+      return workflow.get().getDirectedGraph();
+    }
+    // versions stored without their graph
+    CompactWorkflowDirectedGraph directedGraph =
         workflow.map(w -> objectConverter.convert(w.getSwadl(), w.getVersion(), Workflow.class))
-            .map(w -> new WorkflowDirectGraphBuilder(w, sessionService).build()).orElse(null);
+            .map(w -> new WorkflowDirectGraphBuilder(w, sessionService).build())
+            .map(CompactWorkflowDirectedGraph::of).orElse(null);
     log.trace("Converted directed graph = [{}]", directedGraph);
     return directedGraph;
   }
 
   @CachePut(value = ACTIVE_WORKFLOW_DIRECTED_GRAPH, key = "#directedGraph.workflowId")
-  public WorkflowDirectedGraph putDirectedGraph(WorkflowDirectedGraph directedGraph) {
+  public CompactWorkflowDirectedGraph putDirectedGraph(CompactWorkflowDirectedGraph directedGraph) {
     return directedGraph;
   }
 }
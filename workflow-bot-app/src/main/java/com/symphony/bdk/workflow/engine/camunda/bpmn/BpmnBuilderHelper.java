@@ -1,7 +1,6 @@
 package com.symphony.bdk.workflow.engine.camunda.bpmn;
 
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
-import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.engine.WorkflowNodeType;
 
 import lombok.experimental.UtilityClass;
@@ -23,31 +22,6 @@ public class BpmnBuilderHelper {
     return builder;
   }
 
-  public static boolean hasActivitiesOnly(BuildProcessContext context,
-      WorkflowDirectedGraph.NodeChildren currentNodeChildren) {
-    return currentNodeChildren.getChildren()
-        .stream()
-        .noneMatch(s -> {
-          WorkflowNode workflowNode = context.readWorkflowNode(s);
-          return workflowNode.getElementType() == WorkflowNodeType.SIGNAL_EVENT
-              || workflowNode.getElementType() == WorkflowNodeType.FORM_REPLIED_EVENT;
-        });
-  }
-
-  public static boolean hasAllConditionalChildren(BuildProcessContext context,
-      WorkflowDirectedGraph.NodeChildren currentNodeChildren, String parentId) {
-    return currentNodeChildren.getChildren()
-        .stream()
-        .allMatch(s -> context.readWorkflowNode(s).isConditional(parentId));
-  }
-
-  public static boolean hasConditionalString(BuildProcessContext context,
-      WorkflowDirectedGraph.NodeChildren currentNodeChildren, String parentId) {
-    return currentNodeChildren.getChildren()
-        .stream()
-        .anyMatch(s -> context.readWorkflowNode(s).isConditional(parentId));
-  }
-
   public static boolean isConditionalLoop(AbstractFlowNodeBuilder<?, ?> builder, BuildProcessContext context,
       WorkflowDirectedGraph.NodeChildren currentNodeChildren) {
     return currentNodeChildren.isChildUnique() && context.isAlreadyBuilt(currentNodeChildren.getUniqueChild())
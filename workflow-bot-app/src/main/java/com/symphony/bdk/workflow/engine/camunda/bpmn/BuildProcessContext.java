@@ -3,7 +3,10 @@ package com.symphony.bdk.workflow.engine.camunda.bpmn;
 import static com.symphony.bdk.workflow.engine.camunda.bpmn.builder.WorkflowNodeBpmnBuilder.ERROR_CODE;
 
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowNode;
+import com.symphony.bdk.workflow.engine.WorkflowNodeType;
 
+import lombok.Value;
 import lombok.experimental.Delegate;
 import org.apache.commons.lang3.StringUtils;
 import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
@@ -51,6 +54,12 @@ public class BuildProcessContext {
    */
   private final ProcessBuilder processBuilder;
 
+  /**
+   * the gateway decisions only depend on the graph, they are computed once per node in a single pass over its
+   * children.
+   */
+  private final Map<String, ChildrenTraits> childrenTraits = new HashMap<>();
+
   public BuildProcessContext(WorkflowDirectedGraph workflowGraph, ProcessBuilder process) {
     this.workflowGraph = workflowGraph;
     this.processBuilder = process;
@@ -112,4 +121,36 @@ public class BuildProcessContext {
   public boolean hasTimeoutSubProcess() {
     return !subProcessTimeoutBuilders.isEmpty();
   }
+
+  public ChildrenTraits getChildrenTraits(String nodeId) {
+    return childrenTraits.computeIfAbsent(nodeId, this::computeChildrenTraits);
+  }
+
+  private ChildrenTraits computeChildrenTraits(String nodeId) {
+    boolean activitiesOnly = true;
+    boolean anyConditional = false;
+    boolean allConditional = true;
+    boolean anyNotExclusiveFormReply = false;
+    for (String child : workflowGraph.readChildren(nodeId).getChildren()) {
+      WorkflowNode childNode = workflowGraph.readWorkflowNode(child);
+      boolean conditional = childNode.isConditional(nodeId);
+      activitiesOnly &= childNode.getElementType() != WorkflowNodeType.SIGNAL_EVENT
+          && childNode.getElementType() != WorkflowNodeType.FORM_REPLIED_EVENT;
+      anyConditional |= conditional;
+      allConditional &= conditional;
+      anyNotExclusiveFormReply |= childNode.isNotExclusiveFormReply();
+    }
+    return new ChildrenTraits(activitiesOnly, anyConditional, allConditional, anyNotExclusiveFormReply);
+  }
+
+  /**
+   * What the children of a node are made of, to decide which gateway follows the node.
+   */
+  @Value
+  public static class ChildrenTraits {
+    boolean activitiesOnly;
+    boolean anyConditional;
+    boolean allConditional;
+    boolean anyNotExclusiveFormReply;
+  }
 }
@@ -1,11 +1,9 @@
 package com.symphony.bdk.workflow.engine.camunda.bpmn;
 
-import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasActivitiesOnly;
-import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasAllConditionalChildren;
-import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasConditionalString;
 import static com.symphony.bdk.workflow.engine.camunda.bpmn.BpmnBuilderHelper.hasLoopAfterSubProcess;
 
 import com.symphony.bdk.core.service.session.SessionService;
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowDirectGraphBuilder;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph.NodeChildren;
@@ -13,7 +11,9 @@ import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.engine.WorkflowNodeType;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.BuildProcessContext.ChildrenTraits;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.WorkflowNodeBpmnBuilderFactory;
+import com.symphony.bdk.workflow.engine.camunda.history.WorkflowHistoryLevel;
 import com.symphony.bdk.workflow.engine.camunda.variable.VariablesListener;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
@@ -32,7 +32,11 @@ import org.camunda.bpm.model.bpmn.builder.SubProcessBuilder;
 import org.camunda.bpm.model.xml.ModelValidationException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * Events are created with async before to make sure they are not blocking the dispatch of events (starting or
@@ -67,16 +71,31 @@ public class CamundaBpmnBuilder {
     }
   }
 
-  public Deployment deployWorkflow(CamundaTranslatedWorkflowContext context) {
+  public Deployment deployWorkflow(CamundaTranslatedWorkflowContext context, @Nullable String deploymentHash) {
     Workflow workflow = context.getWorkflow();
     BpmnModelInstance instance = context.getBpmnModelInstance();
     DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
         .name(workflow.getId())
+        .source(deploymentHash)
         .addModelInstance(workflow.getId() + ".bpmn", instance);
-    directedGraphService.putDirectedGraph(context.getWorkflowDirectedGraph());
     return setWorkflowTokenIfExists(deploymentBuilder, workflow).deploy();
   }
 
+  /**
+   * Caches the directed graph computed as part of the translation, once the workflow is deployed.
+   */
+  public void putDirectedGraph(CamundaTranslatedWorkflowContext context) {
+    directedGraphService.putDirectedGraph(CompactWorkflowDirectedGraph.of(context.getWorkflowDirectedGraph()));
+  }
+
+  /**
+   * When an existing deployment is reused, the directed graph is not computed as part of the translation.
+   */
+  public void putDirectedGraph(Workflow workflow) {
+    directedGraphService.putDirectedGraph(
+        CompactWorkflowDirectedGraph.of(new WorkflowDirectGraphBuilder(workflow, sessionService).build()));
+  }
+
   private DeploymentBuilder setWorkflowTokenIfExists(DeploymentBuilder deploymentBuilder, Workflow workflow) {
     workflow.getActivities().forEach(activity -> {
       Optional<String> token = activity.getEvents().getEvents()
@@ -96,6 +115,7 @@ public class CamundaBpmnBuilder {
     String processId = workflow.getId().replaceAll("\\s+", "");
     ProcessBuilder process = Bpmn.createExecutableProcess(processId).name(workflow.getId());
     Optional.ofNullable(workflow.getVersion()).ifPresent(v -> process.camundaVersionTag(String.valueOf(v)));
+    Optional.ofNullable(workflow.getProperties().getHistoryTimeToLive()).ifPresent(process::camundaHistoryTimeToLive);
 
     WorkflowDirectedGraph workflowDirectedGraph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
     BuildProcessContext context = new BuildProcessContext(workflowDirectedGraph, process);
@@ -103,6 +123,8 @@ public class CamundaBpmnBuilder {
     AbstractFlowNodeBuilder<?, ?> builder = closeUpSubProcessesIfAny(context, context.getLastNodeBuilder());
     BpmnModelInstance instance = builder.done();
     process.addExtensionElement(VariablesListener.create(instance, workflow.getVariables()));
+    Optional.ofNullable(workflow.getProperties().getHistory())
+        .ifPresent(history -> process.addExtensionElement(WorkflowHistoryLevel.create(instance, history)));
     return new CamundaTranslatedWorkflowContext(workflow, workflowDirectedGraph, instance);
   }
 
@@ -119,24 +141,41 @@ public class CamundaBpmnBuilder {
     return builder;
   }
 
+  /**
+   * Depth first traversal of the graph, with an explicit stack instead of recursion so that workflows with thousands
+   * of activities do not overflow the call stack. Nodes are visited in the same order as a recursive traversal would.
+   */
   private void buildWorkflowInDfs(NodeChildren nodes, String parentNodeId, BuildProcessContext context)
       throws JsonProcessingException {
-    for (String currentNodeId : nodes.getChildren()) {
-      log.trace("build node [{}] from parent node [{}]", currentNodeId, parentNodeId);
+    Deque<PendingChildren> stack = new ArrayDeque<>();
+    stack.push(new PendingChildren(parentNodeId, nodes, null));
+    while (!stack.isEmpty()) {
+      PendingChildren pending = stack.peek();
+      if (!pending.children.hasNext()) {
+        stack.pop();
+        pending.complete(context);
+        continue;
+      }
+      String currentNodeId = pending.children.next();
+      log.trace("build node [{}] from parent node [{}]", currentNodeId, pending.parentNodeId);
       WorkflowNode currentNode = context.readWorkflowNode(currentNodeId);
       boolean alreadyBuilt = context.isAlreadyBuilt(currentNodeId);
       log.trace("is a node already built ? [{}]", alreadyBuilt);
-      AbstractFlowNodeBuilder<?, ?> builder = context.getNodeBuilder(parentNodeId);
-      builder = builderFactory.getBuilder(currentNode).connect(currentNode, parentNodeId, builder, context);
+      AbstractFlowNodeBuilder<?, ?> builder = context.getNodeBuilder(pending.parentNodeId);
+      builder = builderFactory.getBuilder(currentNode).connect(currentNode, pending.parentNodeId, builder, context);
       if (!alreadyBuilt) {
         log.trace("compute node [{}] children nodes", currentNodeId);
-        computeChildren(currentNode, builder, context);
+        PendingChildren children = computeChildren(currentNode, builder, context);
+        if (children != null) {
+          stack.push(children);
+        }
       }
     }
   }
 
-  private void computeChildren(WorkflowNode currentNode, AbstractFlowNodeBuilder<?, ?> builder,
-      BuildProcessContext context) throws JsonProcessingException {
+  @Nullable
+  private PendingChildren computeChildren(WorkflowNode currentNode, AbstractFlowNodeBuilder<?, ?> builder,
+      BuildProcessContext context) {
     String currentNodeId = currentNode.getId();
     NodeChildren currentNodeChildren = context.readChildren(currentNodeId);
     if (currentNodeChildren != null && !currentNodeChildren.isEmpty()) {
@@ -147,23 +186,18 @@ public class CamundaBpmnBuilder {
             exclusiveSubTreeNodes(currentNodeId, currentNode.getElementType(), builder, context, currentNodeChildren);
       }
       context.addNodeBuilder(currentNodeId, builder); // cache the builder to reuse for its kids
-      // recursive
-      buildWorkflowInDfs(currentNodeChildren, currentNodeId, context);
-      if (hasAllConditionalChildren(context, currentNodeChildren, currentNodeId)
-          && builder instanceof ExclusiveGatewayBuilder) {
-        log.trace("after recursive, add default end event to the gateway");
-        // add a default endEvent to the gateway
-        builder.endEvent();
-      }
+      return new PendingChildren(currentNodeId, currentNodeChildren, builder);
     } else {
       log.trace("the node [{}] is a leaf node", currentNodeId);
       leafNode(currentNodeId, builder, context);
+      return null;
     }
   }
 
   private AbstractFlowNodeBuilder<?, ?> exclusiveSubTreeNodes(String currentNodeId, WorkflowNodeType currentNodeType,
       AbstractFlowNodeBuilder<?, ?> builder, BuildProcessContext context, NodeChildren currentNodeChildren) {
-    if (hasNoExclusiveFormReplyChildren(context, currentNodeChildren)) {
+    ChildrenTraits childrenTraits = context.getChildrenTraits(currentNodeId);
+    if (childrenTraits.isAnyNotExclusiveFormReply()) {
       log.trace("one of [{}] children is a form replied event", currentNodeId);
       return builder;
     }
@@ -179,10 +213,10 @@ public class CamundaBpmnBuilder {
       builder = BpmnBuilderHelper.endEventSubProcess(context, builder);
     }
 
-    boolean activities = hasActivitiesOnly(context, currentNodeChildren);
+    boolean activities = childrenTraits.isActivitiesOnly();
     // either child or current node is conditional, since the condition can be defined
     // at parent event or activity itself
-    boolean conditional = hasConditionalString(context, currentNodeChildren, currentNodeId);
+    boolean conditional = childrenTraits.isAnyConditional();
     log.trace("are the children of the node [{}]'s all activities ? [{}], is there any condition in children ? [{}]",
         currentNodeId, activities, conditional);
     builder = addGateway(currentNodeId, builder, activities, conditional, currentNodeChildren.getChildren().size());
@@ -223,10 +257,29 @@ public class CamundaBpmnBuilder {
     }
   }
 
-  private boolean hasNoExclusiveFormReplyChildren(BuildProcessContext context, NodeChildren currentNodeChildren) {
-    return currentNodeChildren.getChildren()
-        .stream()
-        .map(context::readWorkflowNode)
-        .anyMatch(WorkflowNode::isNotExclusiveFormReply);
+  /**
+   * Children of a node that remain to be built, the node's builder is kept to close its gateway once they are.
+   */
+  private static final class PendingChildren {
+    private final String parentNodeId;
+    private final Iterator<String> children;
+    @Nullable
+    private final AbstractFlowNodeBuilder<?, ?> parentBuilder;
+
+    private PendingChildren(String parentNodeId, NodeChildren children,
+        @Nullable AbstractFlowNodeBuilder<?, ?> parentBuilder) {
+      this.parentNodeId = parentNodeId;
+      this.children = children.getChildren().iterator();
+      this.parentBuilder = parentBuilder;
+    }
+
+    private void complete(BuildProcessContext context) {
+      if (parentBuilder instanceof ExclusiveGatewayBuilder
+          && context.getChildrenTraits(parentNodeId).isAllConditional()) {
+        log.trace("after the children of [{}], add default end event to the gateway", parentNodeId);
+        // add a default endEvent to the gateway
+        parentBuilder.endEvent();
+      }
+    }
   }
 }
@@ -5,8 +5,10 @@ import static com.symphony.bdk.workflow.engine.camunda.bpmn.CamundaBpmnBuilder.E
 
 import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.BuildProcessContext;
+import com.symphony.bdk.workflow.engine.camunda.variable.EventVariableListener;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
 import org.camunda.bpm.model.bpmn.builder.AbstractGatewayBuilder;
 import org.camunda.bpm.model.bpmn.builder.SubProcessBuilder;
@@ -62,6 +64,16 @@ public abstract class AbstractNodeBpmnBuilder implements WorkflowNodeBpmnBuilder
     }
   }
 
+  /**
+   * Events are received under the event variable, which the next event overwrites. Events given an id in SWADL are
+   * also stored under their id so they can still be referred to later on.
+   */
+  protected static void storeEventUnderId(WorkflowNode element, AbstractFlowNodeBuilder<?, ?> eventBuilder) {
+    if (element.hasDeclaredEventId()) {
+      eventBuilder.camundaExecutionListenerClass(ExecutionListener.EVENTNAME_END, EventVariableListener.class);
+    }
+  }
+
   protected abstract AbstractFlowNodeBuilder<?, ?> build(WorkflowNode element, String parentId,
       AbstractFlowNodeBuilder<?, ?> builder, BuildProcessContext context) throws JsonProcessingException;
 }
@@ -5,6 +5,7 @@ import com.symphony.bdk.workflow.engine.WorkflowNodeType;
 import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
 import com.symphony.bdk.workflow.engine.camunda.audit.ScriptTaskAuditListener;
 import com.symphony.bdk.workflow.engine.camunda.bpmn.BuildProcessContext;
+import com.symphony.bdk.workflow.engine.camunda.script.ScriptBudget;
 import com.symphony.bdk.workflow.swadl.ActivityRegistry;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 import com.symphony.bdk.workflow.swadl.v1.activity.ExecuteScript;
@@ -12,6 +13,7 @@ import com.symphony.bdk.workflow.swadl.v1.activity.ExecuteScript;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.builder.ScriptTaskBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -39,12 +41,19 @@ public class ActivityNodeBuilder extends AbstractNodeBpmnBuilder {
 
   private AbstractFlowNodeBuilder<?, ?> addScriptTask(AbstractFlowNodeBuilder<?, ?> builder,
       ExecuteScript scriptActivity) {
-    return builder.scriptTask()
+    ScriptTaskBuilder scriptTask = builder.scriptTask()
         .id(scriptActivity.getId())
         .name(scriptActivity.getId())
         .scriptText(scriptActivity.getScript())
         .scriptFormat(ExecuteScript.SCRIPT_ENGINE)
         .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, ScriptTaskAuditListener.class);
+    if (scriptActivity.getTimeout() != null) {
+      scriptTask.camundaInputParameter(ScriptBudget.TIMEOUT_VARIABLE, scriptActivity.getTimeout());
+    }
+    if (scriptActivity.getMaxIterations() != null) {
+      scriptTask.camundaInputParameter(ScriptBudget.MAX_ITERATIONS_VARIABLE, scriptActivity.getMaxIterations());
+    }
+    return scriptTask;
   }
 
   private AbstractFlowNodeBuilder<?, ?> addServiceTask(AbstractFlowNodeBuilder<?, ?> builder, BaseActivity activity)
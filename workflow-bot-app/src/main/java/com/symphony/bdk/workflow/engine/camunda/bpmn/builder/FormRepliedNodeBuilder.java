@@ -12,6 +12,7 @@ import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
 import org.camunda.bpm.model.bpmn.builder.EventSubProcessBuilder;
+import org.camunda.bpm.model.bpmn.builder.IntermediateCatchEventBuilder;
 import org.camunda.bpm.model.bpmn.builder.ParallelGatewayBuilder;
 import org.camunda.bpm.model.bpmn.builder.StartEventBuilder;
 import org.camunda.bpm.model.bpmn.builder.SubProcessBuilder;
@@ -31,13 +32,16 @@ public class FormRepliedNodeBuilder extends AbstractNodeBpmnBuilder {
       AbstractFlowNodeBuilder<?, ?> builder, BuildProcessContext context) {
     if (builder instanceof ParallelGatewayBuilder || element.getEvent().getFormReplied().getExclusive()) {
       if (builder instanceof StartEventBuilder) {
+        storeEventUnderId(element, builder);
         return ((StartEventBuilder) builder).camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START,
                 FormVariableListener.class)
             .camundaAsyncBefore()
             .name(element.getEventId())
             .message(element.getId());
       }
-      return builder.intermediateCatchEvent()
+      IntermediateCatchEventBuilder catchEvent = builder.intermediateCatchEvent();
+      storeEventUnderId(element, catchEvent);
+      return catchEvent
           .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, FormVariableListener.class)
           .camundaAsyncBefore()
           .name(element.getEventId())
@@ -54,7 +58,9 @@ public class FormRepliedNodeBuilder extends AbstractNodeBpmnBuilder {
       // cache the sub process builder, so to terminate it later
       context.cacheEventSubProcessToDone(subProcessBuilder);
 
-      return subProcessBuilder.startEvent()
+      StartEventBuilder startEvent = subProcessBuilder.startEvent();
+      storeEventUnderId(element, startEvent);
+      return startEvent
           .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, FormVariableListener.class)
           .camundaAsyncBefore()
           // run multiple instances of the sub process (i.e. multiple replies) if it's true,
@@ -7,6 +7,8 @@ import com.symphony.bdk.workflow.engine.camunda.bpmn.BuildProcessContext;
 
 import org.camunda.bpm.model.bpmn.builder.AbstractCatchEventBuilder;
 import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.model.bpmn.builder.IntermediateCatchEventBuilder;
+import org.camunda.bpm.model.bpmn.builder.StartEventBuilder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -19,21 +21,27 @@ public class SignalNodeBuilder extends AbstractNodeBpmnBuilder {
     // this signal has a form replied event brother, they share the same parent, they also share the same child
     // activity, therefore end this signal event right away
     if (hasFormRepliedEventBrother(context, parentId)) {
-      builder = context.getLastSubProcessBuilder()
+      StartEventBuilder startEvent = context.getLastSubProcessBuilder()
           .embeddedSubProcess()
           .eventSubProcess()
-          .startEvent()
+          .startEvent();
+      storeEventUnderId(element, startEvent);
+      builder = startEvent
           .camundaAsyncBefore()
           .interrupting(true)
           .message(element.getId())
           .name(element.getEventId())
           .endEvent().subProcessDone();
     } else if (builder instanceof AbstractCatchEventBuilder) {
-      builder = ((AbstractCatchEventBuilder<?, ?>) builder).camundaAsyncBefore()
+      storeEventUnderId(element, builder);
+      builder = ((AbstractCatchEventBuilder<?, ?>) builder)
+          .camundaAsyncBefore()
           .signal(element.getId())
           .name(element.getEventId());
     } else {
-      builder = builder.intermediateCatchEvent()
+      IntermediateCatchEventBuilder catchEvent = builder.intermediateCatchEvent();
+      storeEventUnderId(element, catchEvent);
+      builder = catchEvent
           .camundaAsyncBefore()
           .signal(element.getId())
           .name(element.getEventId());
@@ -0,0 +1,148 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.spring.boot.starter.configuration.Ordering;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retention of the workflows' history.
+ *
+ * <p>History older than its time to live is removed by Camunda's history cleanup, in batches run by the job executor
+ * within a daily window. The time to live is configured globally and can be overridden per workflow. Cleanup runs are
+ * timed and the removed rows are counted as metrics.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordering.DEFAULT_ORDER + 1)
+public class HistoryCleanupPlugin implements ProcessEnginePlugin {
+
+  public static final String CLEANUP_TIMER = "workflow.history.cleanup";
+  public static final String REMOVED_COUNTER = "workflow.history.cleanup.removed";
+
+  private static final String REMOVED_METRIC_PREFIX = "history-cleanup-removed-";
+
+  private final MeterRegistry meterRegistry;
+  private final String timeToLive;
+  private final String windowStart;
+  private final String windowEnd;
+  private final int batchSize;
+  private final int degreeOfParallelism;
+
+  public HistoryCleanupPlugin(MeterRegistry meterRegistry,
+      @Value("${wdk.properties.history.time-to-live:}") String timeToLive,
+      @Value("${wdk.properties.history.cleanup.window-start:}") String windowStart,
+      @Value("${wdk.properties.history.cleanup.window-end:}") String windowEnd,
+      @Value("${wdk.properties.history.cleanup.batch-size:500}") int batchSize,
+      @Value("${wdk.properties.history.cleanup.degree-of-parallelism:1}") int degreeOfParallelism) {
+    this.meterRegistry = meterRegistry;
+    this.timeToLive = timeToLive;
+    this.windowStart = windowStart;
+    this.windowEnd = windowEnd;
+    this.batchSize = batchSize;
+    this.degreeOfParallelism = degreeOfParallelism;
+  }
+
+  @Override
+  public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    if (StringUtils.isNotEmpty(timeToLive)) {
+      // applies to workflows not setting their own time to live, when they are deployed
+      processEngineConfiguration.setHistoryTimeToLive(timeToLive);
+    }
+    if (StringUtils.isNotEmpty(windowStart)) {
+      processEngineConfiguration.setHistoryCleanupBatchWindowStartTime(windowStart);
+      if (StringUtils.isNotEmpty(windowEnd)) {
+        processEngineConfiguration.setHistoryCleanupBatchWindowEndTime(windowEnd);
+      }
+      log.info("History cleanup scheduled between {} and {}", windowStart, windowEnd);
+    }
+    processEngineConfiguration.setHistoryCleanupBatchSize(batchSize);
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(degreeOfParallelism);
+
+    List<JobHandler> jobHandlers = new ArrayList<>();
+    if (processEngineConfiguration.getCustomJobHandlers() != null) {
+      jobHandlers.addAll(processEngineConfiguration.getCustomJobHandlers());
+    }
+    // replaces the built-in handler of the same type
+    jobHandlers.add(new TimedHistoryCleanupJobHandler(meterRegistry));
+    processEngineConfiguration.setCustomJobHandlers(jobHandlers);
+  }
+
+  @Override
+  public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    if (processEngineConfiguration.getDbMetricsReporter() != null) {
+      processEngineConfiguration.setDbMetricsReporter(new RemovedRowsReporter(processEngineConfiguration,
+          meterRegistry));
+    }
+  }
+
+  @Override
+  public void postProcessEngineBuild(ProcessEngine processEngine) {
+    // nothing to do
+  }
+
+  /**
+   * Times cleanup runs, until their deletions are committed.
+   */
+  static class TimedHistoryCleanupJobHandler extends HistoryCleanupJobHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    TimedHistoryCleanupJobHandler(MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void execute(HistoryCleanupJobHandlerConfiguration configuration, ExecutionEntity execution,
+        CommandContext commandContext, String tenantId) {
+      Timer.Sample sample = Timer.start(meterRegistry);
+      // registered first so that a run failing before its end is still timed
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+          context -> sample.stop(meterRegistry.timer(CLEANUP_TIMER, "outcome", "success")));
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK,
+          context -> sample.stop(meterRegistry.timer(CLEANUP_TIMER, "outcome", "failure")));
+      super.execute(configuration, execution, commandContext, tenantId);
+    }
+  }
+
+  /**
+   * Camunda reports the rows removed by each cleanup run as metrics of its own, they are counted as they are reported.
+   */
+  static class RemovedRowsReporter extends DbMetricsReporter {
+
+    private final MeterRegistry meterRegistry;
+
+    RemovedRowsReporter(ProcessEngineConfigurationImpl processEngineConfiguration, MeterRegistry meterRegistry) {
+      super(processEngineConfiguration.getMetricsRegistry(),
+          processEngineConfiguration.getCommandExecutorTxRequired());
+      this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void reportValueAtOnce(String name, long value) {
+      super.reportValueAtOnce(name, value);
+      if (name.startsWith(REMOVED_METRIC_PREFIX)) {
+        meterRegistry.counter(REMOVED_COUNTER, "type", name.substring(REMOVED_METRIC_PREFIX.length()))
+            .increment(value);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,157 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import com.symphony.bdk.workflow.swadl.v1.Properties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.AbstractHistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.Process;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A history level honoring the history set in the workflows' properties.
+ *
+ * <p>It shares the id of the configured history level, so the engine still sees the same level in the database, and
+ * only produces the events the workflow's history allows. The workflow's history is stored as a property of the
+ * deployed BPMN process and read once per process definition.</p>
+ */
+@Slf4j
+public class WorkflowHistoryLevel extends AbstractHistoryLevel {
+
+  public static final String NAME = "workflow";
+  public static final String HISTORY_PROPERTY = "history";
+
+  private final HistoryLevel baseLevel;
+  private final Map<String, Properties.History> historyByDefinitionId = new ConcurrentHashMap<>();
+
+  public WorkflowHistoryLevel(HistoryLevel baseLevel) {
+    this.baseLevel = baseLevel;
+  }
+
+  /**
+   * Replaces the configured history level, if it is one of the built-in levels, by a {@link WorkflowHistoryLevel}.
+   */
+  public static void install(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    String history = processEngineConfiguration.getHistory();
+    Optional<HistoryLevel> baseLevel = Stream.of(HistoryLevel.HISTORY_LEVEL_NONE,
+            HistoryLevel.HISTORY_LEVEL_ACTIVITY, HistoryLevel.HISTORY_LEVEL_AUDIT, HistoryLevel.HISTORY_LEVEL_FULL)
+        .filter(level -> level.getName().equalsIgnoreCase(history))
+        .findFirst();
+    if (baseLevel.isEmpty()) {
+      log.warn("History level {} is not a built-in level, history set in workflows is ignored", history);
+      return;
+    }
+    processEngineConfiguration.setCustomHistoryLevels(List.of(new WorkflowHistoryLevel(baseLevel.get())));
+    processEngineConfiguration.setHistory(NAME);
+  }
+
+  /**
+   * The workflow's history, stored in the BPMN process so that it is still known after the engine restarts.
+   */
+  public static CamundaProperties create(BpmnModelInstance instance, Properties.History history) {
+    CamundaProperty property = instance.newInstance(CamundaProperty.class);
+    property.setCamundaName(HISTORY_PROPERTY);
+    property.setCamundaValue(history.name());
+    CamundaProperties properties = instance.newInstance(CamundaProperties.class);
+    properties.getCamundaProperties().add(property);
+    return properties;
+  }
+
+  @Override
+  public int getId() {
+    return baseLevel.getId();
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public boolean isHistoryEventProduced(HistoryEventType eventType, Object entity) {
+    switch (history(processDefinitionId(entity))) {
+      case NONE:
+        return false;
+      case ACTIVITY:
+        return HistoryLevel.HISTORY_LEVEL_ACTIVITY.isHistoryEventProduced(eventType, entity)
+            && baseLevel.isHistoryEventProduced(eventType, entity);
+      default:
+        return baseLevel.isHistoryEventProduced(eventType, entity);
+    }
+  }
+
+  private Properties.History history(String processDefinitionId) {
+    if (processDefinitionId == null) {
+      return Properties.History.FULL;
+    }
+    Properties.History history = historyByDefinitionId.get(processDefinitionId);
+    if (history == null) {
+      try {
+        history = readHistory(processDefinitionId);
+        historyByDefinitionId.put(processDefinitionId, history);
+      } catch (ProcessEngineException e) {
+        log.debug("Failed to read history of process definition {}", processDefinitionId, e);
+        return Properties.History.FULL;
+      }
+    }
+    return history;
+  }
+
+  private static Properties.History readHistory(String processDefinitionId) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (configuration == null) {
+      return Properties.History.FULL;
+    }
+    BpmnModelInstance instance =
+        configuration.getDeploymentCache().findBpmnModelInstanceForProcessDefinition(processDefinitionId);
+    if (instance == null) {
+      return Properties.History.FULL;
+    }
+    return instance.getModelElementsByType(Process.class).stream()
+        .map(Process::getExtensionElements)
+        .filter(Objects::nonNull)
+        .flatMap(WorkflowHistoryLevel::camundaProperties)
+        .filter(property -> HISTORY_PROPERTY.equals(property.getCamundaName()))
+        .map(property -> Properties.History.valueOf(property.getCamundaValue()))
+        .findFirst()
+        .orElse(Properties.History.FULL);
+  }
+
+  private static Stream<CamundaProperty> camundaProperties(ExtensionElements extensionElements) {
+    return extensionElements.getElementsQuery().filterByType(CamundaProperties.class).list().stream()
+        .flatMap(properties -> properties.getCamundaProperties().stream());
+  }
+
+  private static String processDefinitionId(Object entity) {
+    if (entity instanceof ExecutionEntity) {
+      return ((ExecutionEntity) entity).getProcessDefinitionId();
+    } else if (entity instanceof VariableInstanceEntity) {
+      ExecutionEntity execution = ((VariableInstanceEntity) entity).getExecution();
+      return execution == null ? null : execution.getProcessDefinitionId();
+    } else if (entity instanceof JobEntity) {
+      return ((JobEntity) entity).getProcessDefinitionId();
+    } else if (entity instanceof IncidentEntity) {
+      return ((IncidentEntity) entity).getProcessDefinitionId();
+    }
+    return null;
+  }
+
+}
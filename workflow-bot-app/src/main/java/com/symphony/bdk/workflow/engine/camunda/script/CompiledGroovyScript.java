@@ -0,0 +1,30 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import javax.script.Bindings;
+import javax.script.ScriptEngine;
+
+/**
+ * A Groovy script compiled once, executions only create a new script instance bound to the current variables.
+ */
+public class CompiledGroovyScript extends ExecutableScript {
+
+  private final Class<? extends Script> scriptClass;
+
+  public CompiledGroovyScript(String language, Class<? extends Script> scriptClass) {
+    super(language);
+    this.scriptClass = scriptClass;
+  }
+
+  @Override
+  protected Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
+    // Camunda's bindings resolve process variables and beans (wdk) lazily
+    return InvokerHelper.createScript(this.scriptClass, new Binding(bindings)).run();
+  }
+
+}
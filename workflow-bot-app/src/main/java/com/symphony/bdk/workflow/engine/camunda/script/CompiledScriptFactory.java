@@ -0,0 +1,83 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import com.symphony.bdk.workflow.swadl.v1.activity.ExecuteScript;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
+import groovy.lang.Script;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
+import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compiles Groovy scripts (execute-script activities) when the BPMN is parsed, i.e. at deployment time.
+ *
+ * <p>Loops, closures and methods are instrumented to enforce the {@link ScriptBudget} of scripts.</p>
+ *
+ * <p>Compiled classes are cached by hash of the script's content so redeploying a workflow, or deploying a new version
+ * of it, does not compile unchanged scripts again.</p>
+ */
+@Slf4j
+@Component
+public class CompiledScriptFactory extends ScriptFactory {
+
+  private static final String SCRIPT_CODE_BASE = "/groovy/script";
+
+  private final Cache<String, Class<? extends Script>> compiledScripts;
+  private final Timer compilationTimer;
+  private final CompilerConfiguration compilerConfiguration;
+
+  public CompiledScriptFactory(MeterRegistry meterRegistry,
+      @Value("${wdk.properties.script.cache-size:1000}") long cacheSize) {
+    this.compiledScripts = Caffeine.newBuilder()
+        .maximumSize(cacheSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, this.compiledScripts, "workflow.script.compiled");
+    this.compilationTimer = Timer.builder("workflow.script.compilation")
+        .description("Compilation time of execute-script activities")
+        .register(meterRegistry);
+    this.compilerConfiguration = new CompilerConfiguration();
+    this.compilerConfiguration.addCompilationCustomizers(new ScriptBudgetCustomizer());
+  }
+
+  @Override
+  public ExecutableScript createScriptFromSource(String language, String source) {
+    if (!ExecuteScript.SCRIPT_ENGINE.equalsIgnoreCase(language) || source == null) {
+      return super.createScriptFromSource(language, source);
+    }
+
+    String hash = Hashing.sha256().hashString(source, StandardCharsets.UTF_8).toString();
+    try {
+      return new CompiledGroovyScript(language, this.compiledScripts.get(hash, h -> this.compile(h, source)));
+    } catch (CompilationFailedException e) {
+      // keep the default behavior, the script will fail when executed
+      log.warn("Failed to compile script, it will be interpreted", e);
+      return super.createScriptFromSource(language, source);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Class<? extends Script> compile(String hash, String source) {
+    return this.compilationTimer.record(() -> {
+      // one class loader per script so that evicted scripts can be garbage collected
+      GroovyClassLoader classLoader = new GroovyClassLoader(this.getClass().getClassLoader(),
+          this.compilerConfiguration);
+      return (Class<? extends Script>) classLoader.parseClass(
+          new GroovyCodeSource(source, "Script_" + hash + ".groovy", SCRIPT_CODE_BASE), false);
+    });
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import java.time.Duration;
+
+/**
+ * Execution budget of a running script: a wall-clock timeout and a maximum number of iterations.
+ *
+ * <p>Compiled scripts call {@link #checkpoint()} for each loop iteration, closure or method call (see
+ * {@link ScriptBudgetCustomizer}), the budget of the script running on the current thread is checked there.
+ * Blocking calls are interrupted once the timeout is reached, only if enabled as interrupting the job executor's
+ * thread while it accesses the database can close its pooled connection.</p>
+ */
+public class ScriptBudget {
+
+  /**
+   * Local variables of a script task, set from the activity's properties, overriding the global budget.
+   */
+  public static final String TIMEOUT_VARIABLE = "scriptTimeout";
+  public static final String MAX_ITERATIONS_VARIABLE = "scriptMaxIterations";
+
+  private static final ThreadLocal<ScriptBudget> CURRENT = new ThreadLocal<>();
+
+  private final Thread thread;
+  private final Duration timeout;
+  private final long deadline;
+  private final long maxIterations;
+  private long iterations;
+  private boolean running = true;
+  private volatile boolean timedOut;
+
+  /**
+   * Zero or negative values disable the corresponding limit.
+   */
+  ScriptBudget(Thread thread, Duration timeout, long maxIterations) {
+    this.thread = thread;
+    this.timeout = timeout;
+    this.deadline = isPositive(timeout) ? System.nanoTime() + timeout.toNanos() : 0;
+    this.maxIterations = maxIterations;
+  }
+
+  /**
+   * Called by compiled scripts, do not rename.
+   */
+  public static void checkpoint() {
+    ScriptBudget budget = CURRENT.get();
+    if (budget != null) {
+      budget.check();
+    }
+  }
+
+  static void start(ScriptBudget budget) {
+    CURRENT.set(budget);
+  }
+
+  private void check() {
+    if (this.maxIterations > 0 && ++this.iterations > this.maxIterations) {
+      throw new ScriptBudgetExceededException(
+          String.format("Script exceeded its budget of %d iterations", this.maxIterations));
+    }
+    if (this.deadline != 0 && System.nanoTime() - this.deadline > 0) {
+      this.timedOut = true;
+      throw this.timeoutException(null);
+    }
+  }
+
+  synchronized void interrupt() {
+    if (this.running) {
+      this.timedOut = true;
+      this.thread.interrupt();
+    }
+  }
+
+  void stop() {
+    synchronized (this) {
+      this.running = false;
+    }
+    CURRENT.remove();
+    if (this.timedOut) {
+      // clear the interrupted flag so the job executor thread can be reused
+      Thread.interrupted();
+    }
+  }
+
+  boolean isTimedOut() {
+    return this.timedOut;
+  }
+
+  Duration getTimeout() {
+    return this.timeout;
+  }
+
+  ScriptBudgetExceededException timeoutException(Throwable cause) {
+    return new ScriptBudgetExceededException(String.format("Script exceeded its timeout of %s", this.timeout), cause);
+  }
+
+  static boolean isPositive(Duration duration) {
+    return duration != null && !duration.isZero() && !duration.isNegative();
+  }
+
+}
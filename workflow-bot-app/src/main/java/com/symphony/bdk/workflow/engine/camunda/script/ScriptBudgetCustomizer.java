@@ -0,0 +1,109 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import org.codehaus.groovy.ast.ClassCodeVisitorSupport;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.VariableScope;
+import org.codehaus.groovy.ast.expr.ArgumentListExpression;
+import org.codehaus.groovy.ast.expr.ClosureExpression;
+import org.codehaus.groovy.ast.expr.StaticMethodCallExpression;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
+import org.codehaus.groovy.ast.stmt.DoWhileStatement;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.codehaus.groovy.ast.stmt.ForStatement;
+import org.codehaus.groovy.ast.stmt.LoopingStatement;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.ast.stmt.WhileStatement;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts a call to {@link ScriptBudget#checkpoint()} at the beginning of loops, closures and methods so that the
+ * budget of a script can be enforced without relying on the script to behave.
+ */
+public class ScriptBudgetCustomizer extends CompilationCustomizer {
+
+  public ScriptBudgetCustomizer() {
+    super(CompilePhase.CANONICALIZATION);
+  }
+
+  @Override
+  public void call(SourceUnit source, GeneratorContext context, ClassNode classNode) {
+    new CheckpointVisitor(source).visitClass(classNode);
+  }
+
+  private static Statement checkpoint() {
+    return new ExpressionStatement(new StaticMethodCallExpression(ClassHelper.make(ScriptBudget.class), "checkpoint",
+        ArgumentListExpression.EMPTY_ARGUMENTS));
+  }
+
+  private static Statement withCheckpoint(Statement statement) {
+    if (statement instanceof BlockStatement) {
+      ((BlockStatement) statement).getStatements().add(0, checkpoint());
+      return statement;
+    }
+    List<Statement> statements = new ArrayList<>();
+    statements.add(checkpoint());
+    if (statement != null) {
+      statements.add(statement);
+    }
+    return new BlockStatement(statements, new VariableScope());
+  }
+
+  private static class CheckpointVisitor extends ClassCodeVisitorSupport {
+
+    private final SourceUnit source;
+
+    CheckpointVisitor(SourceUnit source) {
+      this.source = source;
+    }
+
+    @Override
+    protected SourceUnit getSourceUnit() {
+      return this.source;
+    }
+
+    @Override
+    public void visitMethod(MethodNode node) {
+      super.visitMethod(node);
+      if (!node.isSynthetic() && !node.isAbstract() && node.getCode() != null) {
+        node.setCode(withCheckpoint(node.getCode()));
+      }
+    }
+
+    @Override
+    public void visitClosureExpression(ClosureExpression expression) {
+      super.visitClosureExpression(expression);
+      expression.setCode(withCheckpoint(expression.getCode()));
+    }
+
+    @Override
+    public void visitForLoop(ForStatement statement) {
+      super.visitForLoop(statement);
+      addCheckpoint(statement);
+    }
+
+    @Override
+    public void visitWhileLoop(WhileStatement statement) {
+      super.visitWhileLoop(statement);
+      addCheckpoint(statement);
+    }
+
+    @Override
+    public void visitDoWhileLoop(DoWhileStatement statement) {
+      super.visitDoWhileLoop(statement);
+      addCheckpoint(statement);
+    }
+
+    private void addCheckpoint(LoopingStatement statement) {
+      statement.setLoopBlock(withCheckpoint(statement.getLoopBlock()));
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs scripts within their {@link ScriptBudget}, the global one or the one defined by the execute-script activity.
+ */
+@Component
+public class ScriptBudgetEnforcer {
+
+  private static final String UNKNOWN = "unknown";
+
+  private final MeterRegistry meterRegistry;
+  private final Duration timeout;
+  private final long maxIterations;
+  private final boolean interruptOnTimeout;
+  private final ScheduledExecutorService watchdog;
+
+  public ScriptBudgetEnforcer(MeterRegistry meterRegistry,
+      @Value("${wdk.properties.script.timeout:PT1M}") String timeout,
+      @Value("${wdk.properties.script.max-iterations:0}") long maxIterations,
+      @Value("${wdk.properties.script.interrupt-on-timeout:false}") boolean interruptOnTimeout) {
+    this.meterRegistry = meterRegistry;
+    this.timeout = Duration.parse(timeout);
+    this.maxIterations = maxIterations;
+    this.interruptOnTimeout = interruptOnTimeout;
+    this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "script-budget-watchdog");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public Object execute(VariableScope scope, Callable<Object> script) throws Exception {
+    ScriptBudget budget = new ScriptBudget(Thread.currentThread(), this.timeout(scope), this.maxIterations(scope));
+    // without interruption, the timeout is only checked between the script's calls
+    ScheduledFuture<?> interruption = this.interruptOnTimeout && ScriptBudget.isPositive(budget.getTimeout())
+        ? this.watchdog.schedule(budget::interrupt, budget.getTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        : null;
+    ScriptBudget.start(budget);
+    Timer.Sample sample = Timer.start(this.meterRegistry);
+    String outcome = CamundaExecutor.OUTCOME_FAILURE;
+    try {
+      Object result = script.call();
+      outcome = CamundaExecutor.OUTCOME_SUCCESS;
+      return result;
+    } catch (Exception e) {
+      if (budget.isTimedOut() && !(e instanceof ScriptBudgetExceededException)) {
+        // a blocking call has been interrupted
+        throw budget.timeoutException(e);
+      }
+      throw e;
+    } finally {
+      if (interruption != null) {
+        interruption.cancel(false);
+      }
+      budget.stop();
+      sample.stop(this.timer(scope, outcome));
+    }
+  }
+
+  private Duration timeout(VariableScope scope) {
+    Object value = scope == null ? null : scope.getVariableLocal(ScriptBudget.TIMEOUT_VARIABLE);
+    return value == null ? this.timeout : Duration.parse(value.toString());
+  }
+
+  private long maxIterations(VariableScope scope) {
+    Object value = scope == null ? null : scope.getVariableLocal(ScriptBudget.MAX_ITERATIONS_VARIABLE);
+    return value == null ? this.maxIterations : Long.parseLong(value.toString());
+  }
+
+  private Timer timer(VariableScope scope, String outcome) {
+    String workflow = UNKNOWN;
+    String activity = UNKNOWN;
+    if (scope instanceof ExecutionEntity) {
+      workflow = ((ExecutionEntity) scope).getProcessDefinition().getKey();
+    }
+    if (scope instanceof DelegateExecution) {
+      activity = ((DelegateExecution) scope).getCurrentActivityId();
+    }
+    return Timer.builder("workflow.script.execution")
+        .description("Execution time of execute-script activities")
+        .tag("workflow", workflow)
+        .tag("activity", activity == null ? UNKNOWN : activity)
+        .tag("outcome", outcome)
+        .register(this.meterRegistry);
+  }
+
+  @PreDestroy
+  public void close() {
+    this.watchdog.shutdownNow();
+  }
+
+}
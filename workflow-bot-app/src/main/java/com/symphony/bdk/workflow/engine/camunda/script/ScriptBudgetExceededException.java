@@ -0,0 +1,16 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+/**
+ * Thrown when a script runs for longer or loops more than allowed by its {@link ScriptBudget}.
+ */
+public class ScriptBudgetExceededException extends RuntimeException {
+
+  public ScriptBudgetExceededException(String message) {
+    super(message);
+  }
+
+  public ScriptBudgetExceededException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+}
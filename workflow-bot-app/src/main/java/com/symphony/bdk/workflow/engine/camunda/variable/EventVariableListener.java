@@ -0,0 +1,42 @@
+package com.symphony.bdk.workflow.engine.camunda.variable;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.event.RealTimeEventProcessor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exposes the event that triggered an event node under the event's id so SWADL can refer to it. Executed when the
+ * event node ends, i.e. once the event has been received.
+ * <p>Events are dispatched to all workflows under the {@link ActivityExecutorContext#EVENT} variable, the event id is
+ * specific to each workflow and is set as the event node's name when the workflow is deployed. Only event nodes given
+ * an id in SWADL have this listener, other events are only available as {@link ActivityExecutorContext#EVENT}.</p>
+ */
+@Slf4j
+public class EventVariableListener implements ExecutionListener {
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void notify(DelegateExecution execution) {
+    String eventId = execution.getCurrentActivityName();
+    Object event = execution.getVariable(ActivityExecutorContext.EVENT);
+    if (StringUtils.isBlank(eventId) || !(event instanceof EventHolder)) {
+      return;
+    }
+    EventHolder eventHolder = (EventHolder) event;
+    Map<String, Object> args = eventHolder.getArgs() == null ? new HashMap<>() : new HashMap<>(eventHolder.getArgs());
+    // the event name is only used to dispatch the event
+    args.remove(RealTimeEventProcessor.EVENT_NAME_KEY);
+    log.trace("Storing event as variable {}", eventId);
+    execution.setVariable(eventId, new EventHolder(eventHolder.getInitiator(), eventHolder.getSource(), args,
+        eventHolder.getTraceparent(), eventHolder.getTimestamp()));
+  }
+
+}
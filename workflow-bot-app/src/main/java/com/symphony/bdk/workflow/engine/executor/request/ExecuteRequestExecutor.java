@@ -2,6 +2,7 @@ package com.symphony.bdk.workflow.engine.executor.request;
 
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.request.client.FileResponse;
 import com.symphony.bdk.workflow.engine.executor.request.client.HttpClient;
 import com.symphony.bdk.workflow.engine.executor.request.client.Response;
 import com.symphony.bdk.workflow.swadl.v1.activity.request.ExecuteRequest;
@@ -10,9 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Component
@@ -21,6 +21,12 @@ public class ExecuteRequestExecutor implements ActivityExecutor<ExecuteRequest>
 
   private static final String OUTPUT_STATUS_KEY = "status";
   private static final String OUTPUT_BODY_KEY = "body";
+  private static final String OUTPUT_PATH_KEY = "path";
+  private static final String OUTPUT_SIZE_KEY = "size";
+  private static final String OUTPUT_CONTENT_TYPE_KEY = "contentType";
+  private static final String HTTP_GET = "GET";
+  private static final String RESPONSE_MODE_FILE = "file";
+  private static final String RESPONSE_FILE_NAME = "response";
 
   private final HttpClient httpClient;
 
@@ -38,33 +44,52 @@ public class ExecuteRequestExecutor implements ActivityExecutor<ExecuteRequest>
 
     log.info("Executing request {} {}", activity.getMethod(), activity.getUrl());
 
+    if (RESPONSE_MODE_FILE.equals(activity.getResponseMode())) {
+      this.executeToFile(execution);
+      return;
+    }
+
+    // only safe requests are cached
+    boolean cached = activity.isCache() && HTTP_GET.equalsIgnoreCase(activity.getMethod());
+
     Response response =
         this.httpClient.execute(activity.getMethod(), activity.getUrl(), activity.getBody(),
-            headersToString(activity.getHeaders()));
+            ExecuteRequestUtils.headersToString(activity.getHeaders()), cached);
 
     log.info("Received response {}", response.getCode());
 
     Map<String, Object> outputs = new HashMap<>();
     outputs.put(OUTPUT_STATUS_KEY, response.getCode());
-    outputs.put(OUTPUT_BODY_KEY, response.getContent());
+    if (activity.getResponseFields().isEmpty()) {
+      outputs.put(OUTPUT_BODY_KEY, response.getContent());
+    } else {
+      outputs.put(OUTPUT_BODY_KEY,
+          ExecuteRequestUtils.selectFields(response.getContent(), activity.getResponseFields()));
+    }
     execution.setOutputVariables(outputs);
   }
 
-  private Map<String, String> headersToString(Map<String, Object> headers) {
-    Map<String, String> result = new HashMap<>();
-    for (Map.Entry<String, Object> entry : headers.entrySet()) {
-      String joinedHeaders = String.join(",", toList(entry.getValue()));
-      result.put(entry.getKey(), joinedHeaders);
-    }
-    return result;
-  }
+  // the body is streamed to a file and is not stored as a variable, unless only a few fields are selected
+  private void executeToFile(ActivityExecutorContext<ExecuteRequest> execution) throws IOException {
+    ExecuteRequest activity = execution.getActivity();
+    Path resourcePath = Path.of(execution.getProcessInstanceId(),
+        String.format("%s-%s", execution.getCurrentActivityId(), RESPONSE_FILE_NAME));
 
-  @SuppressWarnings("unchecked")
-  private List<String> toList(Object object) {
-    if (object instanceof List) {
-      return new ArrayList<>(((List<String>) object));
-    } else {
-      return List.of(object.toString());
+    FileResponse response = this.httpClient.executeToFile(activity.getMethod(), activity.getUrl(), activity.getBody(),
+        ExecuteRequestUtils.headersToString(activity.getHeaders()),
+        content -> execution.saveResource(resourcePath, content));
+
+    log.info("Received response {}, {} bytes written to {}", response.getCode(), response.getSize(),
+        response.getPath());
+
+    Map<String, Object> outputs = new HashMap<>();
+    outputs.put(OUTPUT_STATUS_KEY, response.getCode());
+    outputs.put(OUTPUT_PATH_KEY, response.getPath() == null ? null : response.getPath().toString());
+    outputs.put(OUTPUT_SIZE_KEY, response.getSize());
+    outputs.put(OUTPUT_CONTENT_TYPE_KEY, response.getContentType());
+    if (!activity.getResponseFields().isEmpty() && response.getPath() != null) {
+      outputs.put(OUTPUT_BODY_KEY, ExecuteRequestUtils.selectFields(response.getPath(), activity.getResponseFields()));
     }
+    execution.setOutputVariables(outputs);
   }
 }
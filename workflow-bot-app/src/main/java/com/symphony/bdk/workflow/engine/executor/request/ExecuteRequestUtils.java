@@ -1,18 +1,32 @@
 package com.symphony.bdk.workflow.engine.executor.request;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.experimental.UtilityClass;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @UtilityClass
 public class ExecuteRequestUtils {
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   public static String encodeQueryParameters(String fullUrl) {
     UriComponentsBuilder uriComponentsBuilder = UriComponentsBuilder.fromUriString(fullUrl);
     MultiValueMap<String, String> queryParamsMap = uriComponentsBuilder.build().getQueryParams();
@@ -32,6 +46,58 @@ public class ExecuteRequestUtils {
     return clone.build().toUriString();
   }
 
+  /**
+   * Headers values can be lists in SWADL, they are joined with a comma.
+   */
+  public static Map<String, String> headersToString(Map<String, Object> headers) {
+    Map<String, String> result = new HashMap<>();
+    for (Map.Entry<String, Object> entry : headers.entrySet()) {
+      String joinedHeaders = String.join(",", toList(entry.getValue()));
+      result.put(entry.getKey(), joinedHeaders);
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> toList(Object object) {
+    if (object instanceof List) {
+      return new ArrayList<>(((List<String>) object));
+    } else {
+      return List.of(object.toString());
+    }
+  }
+
+  /**
+   * Keeps only the fields of a JSON body that are referenced by JSON pointers, by name.
+   */
+  public static Map<String, Object> selectFields(Object body, Map<String, String> fields) throws IOException {
+    JsonNode root = body instanceof String ? MAPPER.readTree((String) body) : MAPPER.valueToTree(body);
+    Map<String, Object> selected = new HashMap<>();
+    for (Map.Entry<String, String> field : fields.entrySet()) {
+      selected.put(field.getKey(), toValue(root.at(field.getValue())));
+    }
+    return selected;
+  }
+
+  /**
+   * Same as {@link #selectFields(Object, Map)} for a JSON file that is read as a stream, once per field, so only the
+   * selected fields are loaded in memory.
+   */
+  public static Map<String, Object> selectFields(Path jsonFile, Map<String, String> fields) throws IOException {
+    Map<String, Object> selected = new HashMap<>();
+    for (Map.Entry<String, String> field : fields.entrySet()) {
+      try (JsonParser parser = new FilteringParserDelegate(MAPPER.getFactory().createParser(jsonFile.toFile()),
+          new JsonPointerBasedFilter(field.getValue()), TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false)) {
+        selected.put(field.getKey(), toValue(MAPPER.readTree(parser)));
+      }
+    }
+    return selected;
+  }
+
+  private static Object toValue(JsonNode node) throws JsonProcessingException {
+    return node == null || node.isMissingNode() ? null : MAPPER.treeToValue(node, Object.class);
+  }
+
   private static String encode(String value) {
     try {
       return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
@@ -0,0 +1,98 @@
+package com.symphony.bdk.workflow.engine.executor.request;
+
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutor;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.request.client.HttpClient;
+import com.symphony.bdk.workflow.engine.executor.request.client.Response;
+import com.symphony.bdk.workflow.swadl.v1.activity.request.ExecuteRequests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Slf4j
+public class ExecuteRequestsExecutor implements ActivityExecutor<ExecuteRequests> {
+
+  private static final String OUTPUT_RESPONSES_KEY = "responses";
+  private static final String OUTPUT_STATUS_KEY = "status";
+  private static final String OUTPUT_BODY_KEY = "body";
+  private static final String OUTPUT_ERROR_KEY = "error";
+
+  private final HttpClient httpClient;
+
+  public ExecuteRequestsExecutor(HttpClient httpClient) {
+    this.httpClient = httpClient;
+  }
+
+  @Override
+  public void execute(ActivityExecutorContext<ExecuteRequests> execution) throws InterruptedIOException {
+    ExecuteRequests activity = execution.getActivity();
+
+    log.info("Executing {} requests, up to {} at a time", activity.getRequests().size(),
+        activity.getMaxParallelism());
+
+    // the async client does not block, the permits bound the number of requests in flight
+    Semaphore permits = new Semaphore(Math.max(1, activity.getMaxParallelism()));
+    Map<String, CompletableFuture<Response>> pendingResponses = new LinkedHashMap<>();
+    try {
+      for (Map.Entry<String, ExecuteRequests.Request> entry : activity.getRequests().entrySet()) {
+        permits.acquire();
+        CompletableFuture<Response> response = this.executeAsync(entry.getKey(), entry.getValue(),
+            StringUtils.defaultIfEmpty(entry.getValue().getTimeout(), activity.getTimeout()));
+        response.whenComplete((r, e) -> permits.release());
+        pendingResponses.put(entry.getKey(), response);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      pendingResponses.values().forEach(response -> response.cancel(true));
+      throw new InterruptedIOException("Interrupted while executing requests");
+    }
+
+    Map<String, Object> responses = new LinkedHashMap<>();
+    pendingResponses.forEach((name, response) -> responses.put(name, this.toOutput(name, response)));
+    execution.setOutputVariable(OUTPUT_RESPONSES_KEY, responses);
+  }
+
+  private CompletableFuture<Response> executeAsync(String name, ExecuteRequests.Request request, String timeout) {
+    String url = request.isEncodeQueryParams()
+        ? ExecuteRequestUtils.encodeQueryParameters(request.getUrl())
+        : request.getUrl();
+    log.debug("Executing request {} {} {}", name, request.getMethod(), url);
+
+    CompletableFuture<Response> response = this.httpClient.executeAsync(request.getMethod(), url, request.getBody(),
+        ExecuteRequestUtils.headersToString(request.getHeaders()));
+    if (StringUtils.isNotEmpty(timeout)) {
+      response = response.orTimeout(Duration.parse(timeout).toMillis(), TimeUnit.MILLISECONDS);
+    }
+    return response;
+  }
+
+  private Map<String, Object> toOutput(String name, CompletableFuture<Response> pendingResponse) {
+    Map<String, Object> output = new HashMap<>();
+    try {
+      Response response = pendingResponse.join();
+      log.debug("Received response {} for request {}", response.getCode(), name);
+      output.put(OUTPUT_STATUS_KEY, response.getCode());
+      output.put(OUTPUT_BODY_KEY, response.getContent());
+    } catch (CompletionException | CancellationException e) {
+      Throwable cause = e.getCause() == null ? e : e.getCause();
+      String error = cause instanceof TimeoutException ? "Request timed out" : String.valueOf(cause.getMessage());
+      log.warn("Request {} failed: {}", name, error);
+      output.put(OUTPUT_ERROR_KEY, error);
+    }
+    return output;
+  }
+}
@@ -0,0 +1,18 @@
+package com.symphony.bdk.workflow.engine.executor.request.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Response whose body has been written to a file instead of being kept in memory.
+ */
+@AllArgsConstructor
+@Getter
+public class FileResponse {
+  private int code;
+  private Path path;
+  private long size;
+  private String contentType;
+}
@@ -1,50 +1,330 @@
 package com.symphony.bdk.workflow.engine.executor.request.client;
 
+import com.symphony.bdk.workflow.tracing.Span;
+import com.symphony.bdk.workflow.tracing.Tracer;
+
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Generated;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.cache.CacheResponseStatus;
+import org.apache.hc.client5.http.cache.HttpCacheContext;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
-import org.apache.hc.client5.http.fluent.Request;
-import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.cache.CacheConfig;
+import org.apache.hc.client5.http.impl.cache.CachingHttpClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
-import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHeaders;
-import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
 
+/**
+ * HTTP client used by the execute-request activity.
+ * Connections are pooled and shared across activities, the pool limits, timeouts and keep-alive duration are
+ * configured with the wdk.properties.http.* properties.
+ */
 @Generated
 @Component
 public class HttpClient {
 
   public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+  private static final String METRIC_NAME = "workflow.http.request";
+  private static final String UNKNOWN_HOST = "unknown";
+  private static final String IO_ERROR_STATUS = "IO_ERROR";
+  private static final String CANCELLED_STATUS = "CANCELLED";
+  private static final String CACHE_METRIC_NAME = "workflow.http.cache";
+  // invalid JSON bodies larger than this cannot be kept as received
+  private static final int RAW_CONTENT_LIMIT = 1024 * 1024;
+
+  private final MeterRegistry meterRegistry;
+  private final Tracer tracer;
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient client;
+
+  private final int maxConnections;
+  private final int maxConnectionsPerRoute;
+  private final RequestConfig requestConfig;
+  private final Timeout readTimeout;
+
+  private final long cacheMaxSize;
+  private final long cacheMaxObjectSize;
+  private final String cacheDirectory;
+  private final long cacheDirectoryMaxSize;
+  private final Duration cacheDirectoryExpiry;
+
+  private CloseableHttpAsyncClient asyncClient;
+  private CloseableHttpClient cachingClient;
+
+  public HttpClient(MeterRegistry meterRegistry, Tracer tracer,
+      @Value("${wdk.properties.http.max-connections:200}") int maxConnections,
+      @Value("${wdk.properties.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+      @Value("${wdk.properties.http.connect-timeout:10000}") long connectTimeout,
+      @Value("${wdk.properties.http.read-timeout:60000}") long readTimeout,
+      @Value("${wdk.properties.http.keep-alive:30000}") long keepAlive,
+      @Value("${wdk.properties.http.cache.max-size:52428800}") long cacheMaxSize,
+      @Value("${wdk.properties.http.cache.max-object-size:1048576}") long cacheMaxObjectSize,
+      @Value("${wdk.properties.http.cache.directory:}") String cacheDirectory,
+      @Value("${wdk.properties.http.cache.directory-max-size:524288000}") long cacheDirectoryMaxSize,
+      @Value("${wdk.properties.http.cache.directory-expire-after:P1D}") String cacheDirectoryExpiry) {
+    this.meterRegistry = meterRegistry;
+    this.tracer = tracer;
+    this.maxConnections = maxConnections;
+    this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    this.cacheMaxSize = cacheMaxSize;
+    this.cacheMaxObjectSize = cacheMaxObjectSize;
+    this.cacheDirectory = cacheDirectory;
+    this.cacheDirectoryMaxSize = cacheDirectoryMaxSize;
+    this.cacheDirectoryExpiry = Duration.parse(cacheDirectoryExpiry);
+    this.readTimeout = Timeout.ofMilliseconds(readTimeout);
+    this.requestConfig = RequestConfig.custom()
+        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeout))
+        .setResponseTimeout(this.readTimeout)
+        // used by the default keep-alive strategy when the server does not send a Keep-Alive header
+        .setDefaultKeepAlive(keepAlive, TimeUnit.MILLISECONDS)
+        .build();
+
+    this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(maxConnections)
+        .setMaxConnPerRoute(maxConnectionsPerRoute)
+        .setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(this.readTimeout).build())
+        .build();
+    this.client = HttpClients.custom()
+        .setConnectionManager(this.connectionManager)
+        .setDefaultRequestConfig(this.requestConfig)
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofMilliseconds(keepAlive))
+        .build();
+
+    Gauge.builder("workflow.http.connections.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+        .register(meterRegistry);
+    Gauge.builder("workflow.http.connections.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+        .register(meterRegistry);
+    Gauge.builder("workflow.http.connections.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+        .register(meterRegistry);
+  }
+
   public Response execute(String method, String url, Object body, Map<String, String> headers)
       throws IOException {
-    Request request = Request.create(method, url);
-    HttpResponse httpResponse = this.executeWithBody(request, body, headers);
+    return this.execute(method, url, body, headers, false);
+  }
+
+  /**
+   * Executes a request, going through the HTTP cache if <code>cached</code> is true. Cached responses honor the
+   * Cache-Control, ETag and Last-Modified headers returned by the server and are revalidated with conditional requests
+   * once stale.
+   */
+  public Response execute(String method, String url, Object body, Map<String, String> headers, boolean cached)
+      throws IOException {
+    URI uri = URI.create(url);
+    HttpUriRequestBase request = new HttpUriRequestBase(method, uri);
+    request.setEntity(this.toEntity(body, headers));
+    headers.forEach(request::addHeader);
+
+    Span span = this.startSpan(request, method, uri);
+    long start = System.nanoTime();
+    String status = IO_ERROR_STATUS;
+    try {
+      Response response;
+      if (cached) {
+        HttpCacheContext context = HttpCacheContext.create();
+        response = this.getCachingClient().execute(request, context,
+            httpResponse -> this.handleResponse(httpResponse.getCode(), httpResponse.getEntity()));
+        this.recordCache(uri, context.getCacheResponseStatus());
+      } else {
+        response = this.client.execute(request,
+            httpResponse -> this.handleResponse(httpResponse.getCode(), httpResponse.getEntity()));
+      }
+      status = String.valueOf(response.getCode());
+      return response;
+    } finally {
+      this.record(uri, method, status, start, span);
+    }
+  }
+
+  /**
+   * Executes a request and hands over the response body to the writer as it is received, so it is never entirely loaded
+   * in memory.
+   */
+  public FileResponse executeToFile(String method, String url, Object body, Map<String, String> headers,
+      ContentWriter writer) throws IOException {
+    URI uri = URI.create(url);
+    HttpUriRequestBase request = new HttpUriRequestBase(method, uri);
+    request.setEntity(this.toEntity(body, headers));
+    headers.forEach(request::addHeader);
+
+    Span span = this.startSpan(request, method, uri);
+    long start = System.nanoTime();
+    String status = IO_ERROR_STATUS;
+    try {
+      FileResponse response = this.client.execute(request, httpResponse -> {
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity == null) {
+          return new FileResponse(httpResponse.getCode(), null, 0, null);
+        }
+        try (CountingInputStream content = new CountingInputStream(entity.getContent())) {
+          Path path = writer.write(content);
+          return new FileResponse(httpResponse.getCode(), path, content.getByteCount(), entity.getContentType());
+        }
+      });
+      status = String.valueOf(response.getCode());
+      return response;
+    } finally {
+      this.record(uri, method, status, start, span);
+    }
+  }
+
+  /**
+   * Same as {@link #execute(String, String, Object, Map)} but without blocking the calling thread. The response body
+   * is fully received before being parsed. Completing the returned future exceptionally aborts the request.
+   */
+  public CompletableFuture<Response> executeAsync(String method, String url, Object body,
+      Map<String, String> headers) {
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    URI uri;
+    SimpleHttpRequest request;
+    try {
+      uri = URI.create(url);
+      request = new SimpleHttpRequest(method, uri);
+      HttpEntity entity = this.toEntity(body, headers);
+      if (entity != null) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        entity.writeTo(content);
+        request.setBody(content.toByteArray(), ContentType.parse(entity.getContentType()));
+      }
+      headers.forEach(request::addHeader);
+    } catch (IOException | IllegalArgumentException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+
+    Span span = this.startSpan(request, method, uri);
+    long start = System.nanoTime();
+    // only one of the callbacks is expected to be called, the request is recorded once in any case
+    AtomicBoolean recorded = new AtomicBoolean();
+    Consumer<String> recordOnce = status -> {
+      if (recorded.compareAndSet(false, true)) {
+        record(uri, method, status, start, span);
+      }
+    };
+    Future<SimpleHttpResponse> httpFuture = this.getAsyncClient().execute(request, new FutureCallback<>() {
+      @Override
+      public void completed(SimpleHttpResponse httpResponse) {
+        recordOnce.accept(String.valueOf(httpResponse.getCode()));
+        try {
+          result.complete(handleResponse(httpResponse));
+        } catch (IOException e) {
+          result.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public void failed(Exception e) {
+        recordOnce.accept(IO_ERROR_STATUS);
+        result.completeExceptionally(e);
+      }
+
+      @Override
+      public void cancelled() {
+        // the caller gave up on the request, typically after a timeout
+        recordOnce.accept(CANCELLED_STATUS);
+        result.cancel(false);
+      }
+    });
+    // abort the request if the caller gave up on it (timeout for instance)
+    result.whenComplete((response, error) -> {
+      if (error != null) {
+        recordOnce.accept(CANCELLED_STATUS);
+        httpFuture.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Writes a response body, typically to a file.
+   */
+  @FunctionalInterface
+  public interface ContentWriter {
+    Path write(InputStream content) throws IOException;
+  }
 
-    ClassicHttpResponse classicHttpResponse = (ClassicHttpResponse) httpResponse;
-    int responseCode = httpResponse.getCode();
+  private Response handleResponse(int statusCode, HttpEntity entity) throws IOException {
+    if (entity == null) {
+      return new Response(statusCode, "");
+    }
+    if (entity.getContentType() != null && isJsonContent(entity.getContentType())) {
+      // content type is known, parse the body as it is received rather than copying it first
+      try (InputStream content = entity.getContent()) {
+        return new Response(statusCode, readJson(new BufferedInputStream(content)));
+      }
+    }
+    return this.handleResponse(statusCode, EntityUtils.toString(entity, StandardCharsets.UTF_8),
+        entity.getContentType());
+  }
 
-    if (classicHttpResponse.getEntity() != null && classicHttpResponse.getEntity().getContent() != null) {
-      return this.handleResponse(responseCode,
-          IOUtils.toString(classicHttpResponse.getEntity().getContent(), StandardCharsets.UTF_8),
-          classicHttpResponse.getFirstHeader(HttpHeaders.CONTENT_TYPE));
-    } else {
-      return new Response(responseCode, "");
+  private Response handleResponse(SimpleHttpResponse httpResponse) throws IOException {
+    byte[] content = httpResponse.getBodyBytes();
+    if (content == null) {
+      return new Response(httpResponse.getCode(), "");
     }
+    ContentType contentType = httpResponse.getContentType();
+    if (contentType != null && isJsonContent(contentType.toString())) {
+      return new Response(httpResponse.getCode(), readJson(new ByteArrayInputStream(content)));
+    }
+    return this.handleResponse(httpResponse.getCode(), new String(content, StandardCharsets.UTF_8),
+        contentType == null ? null : contentType.toString());
   }
 
-  private Response handleResponse(int statusCode, String content, Header contentType) {
+  private Response handleResponse(int statusCode, String content, String contentType) {
     Object data = content;
-    if (isJsonContentOrNull(contentType)) {
+    if (contentType == null || isJsonContent(contentType)) {
       try {
         data = OBJECT_MAPPER.readValue(content, Map.class);
       } catch (JsonProcessingException jsonProcessingException) {
@@ -55,17 +335,44 @@ public class HttpClient {
     return new Response(statusCode, data);
   }
 
-  private boolean isJsonContentOrNull(Header contentType) {
-    return contentType == null || contentType.getValue().contains(ContentType.APPLICATION_JSON.getMimeType());
+  /**
+   * JSON objects are exposed as maps, anything else (arrays, values, invalid JSON...) is kept as received.
+   *
+   * <p>Only the first {@link #RAW_CONTENT_LIMIT} bytes are kept while parsing, to read the content again as text when
+   * it is not a JSON object.</p>
+   *
+   * @param content stream supporting mark/reset
+   */
+  private static Object readJson(InputStream content) throws IOException {
+    content.mark(RAW_CONTENT_LIMIT);
+    try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(content)) {
+      parser.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+      if (parser.nextToken() == JsonToken.START_OBJECT) {
+        return OBJECT_MAPPER.readValue(parser, Map.class);
+      }
+    } catch (JsonProcessingException e) {
+      // not valid JSON, the content is kept as a string
+    }
+    try {
+      content.reset();
+    } catch (IOException e) {
+      throw new IOException("Response is not a valid JSON object and is too large to be kept as received", e);
+    }
+    return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+  }
+
+  private static boolean isJsonContent(String contentType) {
+    return contentType.contains(ContentType.APPLICATION_JSON.getMimeType());
   }
 
   @SuppressWarnings("unchecked")
-  private HttpResponse executeWithBody(Request request, Object body, Map<String, String> headers)
-      throws IOException {
+  private HttpEntity toEntity(Object body, Map<String, String> headers) throws JsonProcessingException {
+    if (body == null) {
+      return null;
+    }
 
-    // set body
     String headerContentType = headers.get(HttpHeaders.CONTENT_TYPE);
-    if (body != null && ContentType.MULTIPART_FORM_DATA.getMimeType().equals(headerContentType)) {
+    if (ContentType.MULTIPART_FORM_DATA.getMimeType().equals(headerContentType)) {
 
       final MultipartEntityBuilder multipartEntityBuilder = MultipartEntityBuilder
           .create();
@@ -74,30 +381,122 @@ public class HttpClient {
       ContentType textBodyContentType = ContentType.create("text/plain", StandardCharsets.UTF_8);
       bodyAsMap.forEach((key, value) -> multipartEntityBuilder.addTextBody(key, value.toString(), textBodyContentType));
 
-      request.body(multipartEntityBuilder.build());
-
       // The content type with boundary is provided in the entity, otherwise it is overridden
       headers.remove(HttpHeaders.CONTENT_TYPE);
 
-    } else if (body != null && StringUtils.isNotEmpty(headerContentType)) {
+      return multipartEntityBuilder.build();
+
+    } else if (StringUtils.isNotEmpty(headerContentType)) {
       if (headerContentType.equals(ContentType.APPLICATION_JSON.getMimeType()) && !(body instanceof String)) {
-        request.bodyString(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON);
+        return new StringEntity(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON);
       } else {
-        request.bodyString(body.toString(), ContentType.parse(headerContentType));
+        return new StringEntity(body.toString(), ContentType.parse(headerContentType));
       }
 
-    } else if (body != null) { // if no content type is provided, we set application/json by default
+    } else { // if no content type is provided, we set application/json by default
       if (body instanceof String) {
-        request.bodyString(body.toString(), ContentType.APPLICATION_JSON);
+        return new StringEntity(body.toString(), ContentType.APPLICATION_JSON);
       } else {
-        request.bodyString(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON);
+        return new StringEntity(OBJECT_MAPPER.writeValueAsString(body), ContentType.APPLICATION_JSON);
       }
     }
+  }
 
-    // set headers
-    headers.forEach(request::addHeader);
+  private void recordCache(URI uri, CacheResponseStatus cacheResponseStatus) {
+    if (cacheResponseStatus != null) {
+      this.meterRegistry.counter(CACHE_METRIC_NAME, "host", host(uri), "status", cacheResponseStatus.name())
+          .increment();
+    }
+  }
 
-    return request.execute().returnResponse();
+  /**
+   * Starts a span for a request made within a trace, its context is propagated to the server in the traceparent
+   * header.
+   */
+  private Span startSpan(HttpRequest request, String method, URI uri) {
+    String parent = Tracer.currentTraceparent();
+    if (parent == null) {
+      return null;
+    }
+    Span span = this.tracer.startSpan("http.request", parent)
+        .kind(Span.Kind.CLIENT)
+        .tag("http.method", method)
+        .tag("http.host", host(uri));
+    if (!request.containsHeader(Tracer.TRACE_PARENT_HEADER)) {
+      request.addHeader(Tracer.TRACE_PARENT_HEADER, span.traceparent());
+    }
+    return span;
+  }
+
+  private void record(URI uri, String method, String status, long start, Span span) {
+    Timer.builder(METRIC_NAME)
+        .description("HTTP requests executed by execute-request activities")
+        .tag("host", host(uri))
+        .tag("method", method)
+        .tag("status", status)
+        .register(this.meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    if (span != null) {
+      span.tag("http.status", status).end();
+    }
+  }
+
+  private static String host(URI uri) {
+    return uri == null || uri.getHost() == null ? UNKNOWN_HOST : uri.getHost();
+  }
+
+  // the caching client shares the connection pool, it is only created if an activity enables caching
+  private synchronized CloseableHttpClient getCachingClient() throws IOException {
+    if (this.cachingClient == null) {
+      HttpResponseCacheStorage storage = new HttpResponseCacheStorage(this.cacheMaxSize,
+          StringUtils.isEmpty(this.cacheDirectory) ? null : Paths.get(this.cacheDirectory), this.cacheDirectoryMaxSize,
+          this.cacheDirectoryExpiry);
+      Gauge.builder("workflow.http.cache.size", storage, HttpResponseCacheStorage::memorySize)
+          .baseUnit("bytes")
+          .register(this.meterRegistry);
+      Gauge.builder("workflow.http.cache.directory.size", storage, HttpResponseCacheStorage::diskSize)
+          .baseUnit("bytes")
+          .register(this.meterRegistry);
+
+      this.cachingClient = CachingHttpClients.custom()
+          .setHttpCacheStorage(storage)
+          .setCacheConfig(CacheConfig.custom()
+              .setMaxObjectSize(this.cacheMaxObjectSize)
+              .build())
+          .setConnectionManager(this.connectionManager)
+          .setConnectionManagerShared(true)
+          .setDefaultRequestConfig(this.requestConfig)
+          .build();
+    }
+    return this.cachingClient;
+  }
+
+  // the async client starts its own I/O threads, so it is only created when needed
+  private synchronized CloseableHttpAsyncClient getAsyncClient() {
+    if (this.asyncClient == null) {
+      this.asyncClient = HttpAsyncClients.custom()
+          .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+              .setMaxConnTotal(this.maxConnections)
+              .setMaxConnPerRoute(this.maxConnectionsPerRoute)
+              .build())
+          .setDefaultRequestConfig(this.requestConfig)
+          .setIOReactorConfig(IOReactorConfig.custom().setSoTimeout(this.readTimeout).build())
+          .evictExpiredConnections()
+          .build();
+      this.asyncClient.start();
+    }
+    return this.asyncClient;
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    if (this.cachingClient != null) {
+      this.cachingClient.close(CloseMode.GRACEFUL);
+    }
+    this.client.close(CloseMode.GRACEFUL);
+    if (this.asyncClient != null) {
+      this.asyncClient.close(CloseMode.GRACEFUL);
+    }
   }
 
 }
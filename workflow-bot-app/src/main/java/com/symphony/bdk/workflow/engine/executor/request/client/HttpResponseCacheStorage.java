@@ -0,0 +1,261 @@
+package com.symphony.bdk.workflow.engine.executor.request.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.cache.HttpCacheCASOperation;
+import org.apache.hc.client5.http.cache.HttpCacheEntry;
+import org.apache.hc.client5.http.cache.HttpCacheStorage;
+import org.apache.hc.client5.http.cache.HttpCacheStorageEntry;
+import org.apache.hc.client5.http.cache.Resource;
+import org.apache.hc.client5.http.cache.ResourceIOException;
+import org.apache.hc.client5.http.impl.cache.ByteArrayCacheEntrySerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Storage of cached HTTP responses for the execute-request activity.
+ *
+ * <p>Entries are kept in memory up to a maximum size in bytes. If a directory is provided, entries evicted from memory
+ * are moved to disk and brought back in memory when they are accessed again. Files are bounded too: the oldest ones
+ * are deleted when the directory exceeds its maximum size or once they have been on disk for too long.</p>
+ */
+@Slf4j
+public class HttpResponseCacheStorage implements HttpCacheStorage {
+
+  private static final String FILE_EXTENSION = ".cache";
+
+  private final Cache<String, HttpCacheEntry> memory;
+  private final Path directory;
+  private final long maxDiskSize;
+  private final Duration diskExpiry;
+  // size and write time of the files on disk, oldest first
+  private final LinkedHashMap<Path, DiskEntry> disk = new LinkedHashMap<>();
+  private long diskSize;
+
+  public HttpResponseCacheStorage(long maxMemorySize, @Nullable Path directory, long maxDiskSize, Duration diskExpiry)
+      throws IOException {
+    this.directory = directory;
+    this.maxDiskSize = maxDiskSize;
+    this.diskExpiry = diskExpiry;
+    if (directory != null) {
+      Files.createDirectories(directory);
+      this.indexDisk();
+    }
+    this.memory = Caffeine.newBuilder()
+        // evicted entries are moved to disk on the calling thread, which holds this storage's lock
+        .executor(Runnable::run)
+        .maximumWeight(maxMemorySize)
+        .weigher((String key, HttpCacheEntry entry) -> weight(key, entry))
+        .evictionListener((String key, HttpCacheEntry entry, RemovalCause cause) -> {
+          if (key != null && entry != null && cause.wasEvicted()) {
+            this.writeToDisk(key, entry);
+          }
+        })
+        .build();
+  }
+
+  @Override
+  public synchronized void putEntry(String key, HttpCacheEntry entry) throws ResourceIOException {
+    this.memory.put(key, entry);
+    this.deleteFromDisk(key);
+  }
+
+  @Override
+  public synchronized HttpCacheEntry getEntry(String key) throws ResourceIOException {
+    HttpCacheEntry entry = this.memory.getIfPresent(key);
+    if (entry == null) {
+      entry = this.readFromDisk(key);
+      if (entry != null) {
+        this.putEntry(key, entry);
+      }
+    }
+    return entry;
+  }
+
+  @Override
+  public synchronized void removeEntry(String key) throws ResourceIOException {
+    this.memory.invalidate(key);
+    this.deleteFromDisk(key);
+  }
+
+  @Override
+  public synchronized void updateEntry(String key, HttpCacheCASOperation casOperation) throws ResourceIOException {
+    HttpCacheEntry updated = casOperation.execute(this.getEntry(key));
+    if (updated == null) {
+      this.removeEntry(key);
+    } else {
+      this.putEntry(key, updated);
+    }
+  }
+
+  @Override
+  public synchronized Map<String, HttpCacheEntry> getEntries(Collection<String> keys) throws ResourceIOException {
+    Map<String, HttpCacheEntry> entries = new HashMap<>();
+    for (String key : keys) {
+      HttpCacheEntry entry = this.getEntry(key);
+      if (entry != null) {
+        entries.put(key, entry);
+      }
+    }
+    return entries;
+  }
+
+  public long memorySize() {
+    return this.memory.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  private static int weight(String key, HttpCacheEntry entry) {
+    Resource resource = entry.getResource();
+    long size = key.length() + (resource == null ? 0 : resource.length());
+    return (int) Math.min(Integer.MAX_VALUE, size);
+  }
+
+  public synchronized long diskSize() {
+    return this.diskSize;
+  }
+
+  // files left by a previous run are kept, within the same limits
+  private void indexDisk() throws IOException {
+    List<Path> files;
+    try (Stream<Path> list = Files.list(this.directory)) {
+      files = list.filter(file -> file.getFileName().toString().endsWith(FILE_EXTENSION))
+          .sorted(Comparator.comparing(HttpResponseCacheStorage::lastModified))
+          .collect(Collectors.toList());
+    }
+    for (Path file : files) {
+      this.addToDisk(file, new DiskEntry(Files.size(file), lastModified(file).toMillis()));
+    }
+    this.evictFromDisk();
+  }
+
+  private synchronized void writeToDisk(String key, HttpCacheEntry entry) {
+    if (this.directory == null) {
+      return;
+    }
+    Path file = this.file(key);
+    try {
+      byte[] content = ByteArrayCacheEntrySerializer.INSTANCE.serialize(new HttpCacheStorageEntry(key, entry));
+      if (content.length > this.maxDiskSize) {
+        return;
+      }
+      Files.write(file, content);
+      this.removeFromDisk(file);
+      this.addToDisk(file, new DiskEntry(content.length, System.currentTimeMillis()));
+      this.evictFromDisk();
+    } catch (IOException e) {
+      log.warn("Failed to move cached response of {} to disk", key, e);
+    }
+  }
+
+  private HttpCacheEntry readFromDisk(String key) throws ResourceIOException {
+    if (this.directory == null) {
+      return null;
+    }
+    Path file = this.file(key);
+    DiskEntry diskEntry = this.disk.get(file);
+    if (diskEntry == null) {
+      return null;
+    }
+    if (diskEntry.isExpired(System.currentTimeMillis() - this.diskExpiry.toMillis())) {
+      this.deleteFromDisk(key);
+      return null;
+    }
+    try {
+      HttpCacheStorageEntry storageEntry =
+          ByteArrayCacheEntrySerializer.INSTANCE.deserialize(Files.readAllBytes(file));
+      // file names are hashes, make sure this is the right entry
+      return key.equals(storageEntry.getKey()) ? storageEntry.getContent() : null;
+    } catch (IOException e) {
+      throw new ResourceIOException("Failed to read cached response of " + key, e);
+    }
+  }
+
+  private void deleteFromDisk(String key) throws ResourceIOException {
+    if (this.directory == null) {
+      return;
+    }
+    Path file = this.file(key);
+    try {
+      this.removeFromDisk(file);
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new ResourceIOException("Failed to delete cached response of " + key, e);
+    }
+  }
+
+  private void addToDisk(Path file, DiskEntry entry) {
+    this.disk.put(file, entry);
+    this.diskSize += entry.size;
+  }
+
+  private void removeFromDisk(Path file) {
+    DiskEntry removed = this.disk.remove(file);
+    if (removed != null) {
+      this.diskSize -= removed.size;
+    }
+  }
+
+  // deletes the oldest files until the directory fits its maximum size and expired files
+  private void evictFromDisk() {
+    long expiredBefore = System.currentTimeMillis() - this.diskExpiry.toMillis();
+    Iterator<Map.Entry<Path, DiskEntry>> oldest = this.disk.entrySet().iterator();
+    while (oldest.hasNext()) {
+      Map.Entry<Path, DiskEntry> entry = oldest.next();
+      if (this.diskSize <= this.maxDiskSize && !entry.getValue().isExpired(expiredBefore)) {
+        return;
+      }
+      oldest.remove();
+      this.diskSize -= entry.getValue().size;
+      try {
+        Files.deleteIfExists(entry.getKey());
+      } catch (IOException e) {
+        log.warn("Failed to delete cached response file {}", entry.getKey(), e);
+      }
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private Path file(String key) {
+    return this.directory.resolve(Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + FILE_EXTENSION);
+  }
+
+  private static class DiskEntry {
+    private final long size;
+    private final long writtenAt;
+
+    DiskEntry(long size, long writtenAt) {
+      this.size = size;
+      this.writtenAt = writtenAt;
+    }
+
+    boolean isExpired(long expiredBefore) {
+      return this.writtenAt < expiredBefore;
+    }
+  }
+
+}
@@ -1,12 +1,98 @@
 package com.symphony.bdk.workflow.engine.handler;
 
+import com.symphony.bdk.workflow.engine.BatchDispatcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import javax.annotation.PreDestroy;
+
+/**
+ * Runs actions on history events, such as audit logging, off the engine's threads.
+ *
+ * <p>History events are produced within engine commands, actions are queued in a bounded buffer and run in batches by
+ * a single dispatcher thread so that commands do not wait for them. When the buffer is full, actions are either dropped
+ * or the engine's thread waits for room, depending on the overflow policy. With a capacity of 0 actions are run right
+ * away.</p>
+ */
+@Slf4j
 @Component
 public class HistoricEventActionExecutor {
 
+  public static final String QUEUE_SIZE = "workflow.history.actions.queued";
+  public static final String DROPPED = "workflow.history.actions.dropped";
+
+  public enum OverflowPolicy {
+    DROP, BLOCK
+  }
+
+  private final OverflowPolicy overflowPolicy;
+  private final BatchDispatcher<QueuedAction> dispatcher;
+
+  public HistoricEventActionExecutor(MeterRegistry meterRegistry,
+      @Value("${wdk.properties.history.actions.capacity:10000}") int capacity,
+      @Value("${wdk.properties.history.actions.batch-size:100}") int batchSize,
+      @Value("${wdk.properties.history.actions.overflow:block}") String overflowPolicy) {
+    this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
+    Counter dropped = meterRegistry.counter(DROPPED);
+    this.dispatcher = capacity <= 0 ? null
+        : new BatchDispatcher<>("history-actions", capacity, batchSize, batch -> batch.forEach(QueuedAction::run),
+            meterRegistry, QUEUE_SIZE, dropped);
+  }
+
   public void executeAction(HistoricEventAction historicEventAction, HistoryEvent historyEvent) {
-    historicEventAction.execute(historyEvent);
+    if (dispatcher == null) {
+      historicEventAction.execute(historyEvent);
+      return;
+    }
+
+    QueuedAction action = new QueuedAction(historicEventAction, historyEvent, MDC.getCopyOfContextMap());
+    if (overflowPolicy == OverflowPolicy.DROP) {
+      dispatcher.offer(action);
+    } else {
+      dispatcher.put(action);
+    }
+  }
+
+  /**
+   * Waits for queued actions to be run.
+   */
+  @PreDestroy
+  public void close() throws InterruptedException {
+    if (dispatcher != null) {
+      dispatcher.close();
+    }
+  }
+
+  private static class QueuedAction {
+    private final HistoricEventAction action;
+    private final HistoryEvent event;
+    private final Map<String, String> context;
+
+    QueuedAction(HistoricEventAction action, HistoryEvent event, Map<String, String> context) {
+      this.action = action;
+      this.event = event;
+      this.context = context;
+    }
+
+    void run() {
+      if (context != null) {
+        MDC.setContextMap(context);
+      }
+      try {
+        action.execute(event);
+      } catch (RuntimeException e) {
+        log.warn("Failed to run action on history event {}", event.getId(), e);
+      } finally {
+        MDC.clear();
+      }
+    }
   }
+
 }
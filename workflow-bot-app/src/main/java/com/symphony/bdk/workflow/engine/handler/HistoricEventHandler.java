@@ -1,7 +1,7 @@
 package com.symphony.bdk.workflow.engine.handler;
 
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
-import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
+import com.symphony.bdk.workflow.engine.handler.metrics.WorkflowMetricsAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
@@ -13,19 +13,19 @@ import java.util.List;
 public class HistoricEventHandler implements HistoryEventHandler {
   final HistoricEventActionExecutor historicEventActionExecutor;
   final AuditTrailLogAction auditTrailLogAction;
-  final WorkflowEventVariableAction workflowEventVariableAction;
+  final WorkflowMetricsAction workflowMetricsAction;
 
   public HistoricEventHandler(HistoricEventActionExecutor historicEventActionExecutor,
-      AuditTrailLogAction auditTrailLogAction, WorkflowEventVariableAction workflowEventVariableAction) {
+      AuditTrailLogAction auditTrailLogAction, WorkflowMetricsAction workflowMetricsAction) {
     this.historicEventActionExecutor = historicEventActionExecutor;
     this.auditTrailLogAction = auditTrailLogAction;
-    this.workflowEventVariableAction = workflowEventVariableAction;
+    this.workflowMetricsAction = workflowMetricsAction;
   }
 
   @Override
   public void handleEvent(HistoryEvent historyEvent) {
     this.historicEventActionExecutor.executeAction(this.auditTrailLogAction, historyEvent);
-    this.historicEventActionExecutor.executeAction(this.workflowEventVariableAction, historyEvent);
+    this.historicEventActionExecutor.executeAction(this.workflowMetricsAction, historyEvent);
   }
 
   @Override
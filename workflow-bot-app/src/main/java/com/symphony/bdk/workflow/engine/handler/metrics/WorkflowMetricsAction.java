@@ -0,0 +1,149 @@
+package com.symphony.bdk.workflow.engine.handler.metrics;
+
+import com.symphony.bdk.workflow.engine.WorkflowEngineMetrics;
+import com.symphony.bdk.workflow.engine.handler.HistoricEventAction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the engine's counts up to date from history events, so that exposing them does not query the database.
+ *
+ * <p>Counts can drift, for instance for workflows not producing history, they are reconciled periodically with
+ * {@link #reconcile(WorkflowEngineMetrics)}.</p>
+ */
+@Component
+public class WorkflowMetricsAction implements HistoricEventAction {
+
+  public static final String PROCESS_FAILED = "workflow.process.failed";
+  public static final String ACTIVITY_FAILED = "workflow.activity.failed";
+  public static final String PROCESS_DURATION = "workflow.process.duration";
+
+  private static final String SCRIPT_TASK = "scriptTask";
+  private static final String SERVICE_TASK = "serviceTask";
+
+  @Getter private final AtomicLong deployedWorkflows = new AtomicLong();
+  @Getter private final AtomicLong runningProcesses = new AtomicLong();
+  @Getter private final AtomicLong completedProcesses = new AtomicLong();
+  @Getter private final AtomicLong runningActivities = new AtomicLong();
+  @Getter private final AtomicLong completedActivities = new AtomicLong();
+
+  private final MeterRegistry registry;
+  private final Counter failedProcesses;
+  private final Counter failedActivities;
+  // running processes with a failed activity, counted as failed when they end
+  private final Set<String> processesWithFailures = ConcurrentHashMap.newKeySet();
+
+  public WorkflowMetricsAction(MeterRegistry registry) {
+    this.registry = registry;
+    this.failedProcesses = registry.counter(PROCESS_FAILED);
+    this.failedActivities = registry.counter(ACTIVITY_FAILED);
+  }
+
+  @Override
+  public void execute(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity) {
+      onProcessEvent((HistoricProcessInstanceEventEntity) historyEvent);
+
+    } else if (historyEvent instanceof HistoricActivityInstanceEventEntity) {
+      onActivityEvent((HistoricActivityInstanceEventEntity) historyEvent);
+
+    } else if (historyEvent instanceof HistoricIncidentEventEntity
+        && HistoryEventTypes.INCIDENT_CREATE.getEventName().equals(historyEvent.getEventType())) {
+      onActivityFailed(historyEvent.getProcessInstanceId());
+    }
+  }
+
+  private void onProcessEvent(HistoricProcessInstanceEventEntity event) {
+    if (HistoryEventTypes.PROCESS_INSTANCE_START.getEventName().equals(event.getEventType())) {
+      runningProcesses.incrementAndGet();
+
+    } else if (HistoryEventTypes.PROCESS_INSTANCE_END.getEventName().equals(event.getEventType())) {
+      decrement(runningProcesses);
+      completedProcesses.incrementAndGet();
+      String outcome = "completed";
+      if (processesWithFailures.remove(event.getProcessInstanceId())
+          || HistoricProcessInstance.STATE_INTERNALLY_TERMINATED.equals(event.getState())) {
+        failedProcesses.increment();
+        outcome = "failed";
+      } else if (HistoricProcessInstance.STATE_EXTERNALLY_TERMINATED.equals(event.getState())) {
+        outcome = "terminated";
+      }
+      if (event.getDurationInMillis() != null) {
+        Timer.builder(PROCESS_DURATION)
+            .description("Duration of processes, from their start to their end")
+            .tag("workflow", String.valueOf(event.getProcessDefinitionKey()))
+            .tag("outcome", outcome)
+            .register(registry)
+            .record(event.getDurationInMillis(), TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  private void onActivityEvent(HistoricActivityInstanceEventEntity event) {
+    if (!SCRIPT_TASK.equals(event.getActivityType()) && !SERVICE_TASK.equals(event.getActivityType())) {
+      return; // events are not counted as activities
+    }
+
+    if (HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName().equals(event.getEventType())) {
+      runningActivities.incrementAndGet();
+
+    } else if (HistoryEventTypes.ACTIVITY_INSTANCE_END.getEventName().equals(event.getEventType())) {
+      decrement(runningActivities);
+      completedActivities.incrementAndGet();
+      // failed activities are interrupted by the error they throw
+      if (event.getActivityInstanceState() == ActivityInstanceState.CANCELED.getStateCode()) {
+        onActivityFailed(event.getProcessInstanceId());
+      }
+    }
+  }
+
+  private void onActivityFailed(String processInstanceId) {
+    failedActivities.increment();
+    if (processInstanceId != null) {
+      processesWithFailures.add(processInstanceId);
+    }
+  }
+
+  /**
+   * Deployments are not history events, the engine reports them once committed.
+   */
+  public void onWorkflowDeployed() {
+    deployedWorkflows.incrementAndGet();
+  }
+
+  public void onWorkflowUndeployed() {
+    decrement(deployedWorkflows);
+  }
+
+  private static void decrement(AtomicLong count) {
+    count.updateAndGet(value -> Math.max(0, value - 1));
+  }
+
+  /**
+   * Replaces the counts maintained from history events by the engine's ones.
+   */
+  public void reconcile(WorkflowEngineMetrics metrics) {
+    deployedWorkflows.set(metrics.countDeployedWorkflows());
+    runningProcesses.set(metrics.countRunningProcesses());
+    completedProcesses.set(metrics.countCompletedProcesses());
+    runningActivities.set(metrics.countRunningActivities());
+    completedActivities.set(metrics.countCompletedActivities());
+  }
+
+}
@@ -3,6 +3,7 @@ package com.symphony.bdk.workflow.event;
 import com.symphony.bdk.spring.events.RealTimeEvent;
 import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
 import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.tracing.Tracer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +24,8 @@ public abstract class AbstractRealTimeEventProcessor<T> implements RealTimeEvent
   @Override
   public void process(RealTimeEvent<T> event) throws Exception {
     Map<String, Object> processVariables = new HashMap<>();
-    processVariables.put(ActivityExecutorContext.EVENT,
-            new EventHolder<>(event.getInitiator(), event.getSource(), new HashMap<>()));
+    processVariables.put(ActivityExecutorContext.EVENT, new EventHolder<>(event.getInitiator(), event.getSource(),
+        new HashMap<>(), Tracer.currentTraceparent(), eventTimestamp(event.getSource())));
 
     if (event.getInitiator() != null
             && event.getInitiator().getUser() != null
@@ -36,6 +37,13 @@ public abstract class AbstractRealTimeEventProcessor<T> implements RealTimeEvent
     processEventSource(event.getSource(), processVariables);
   }
 
+  /**
+   * When the event was created, its reception time unless the event source carries it.
+   */
+  protected long eventTimestamp(T eventSource) {
+    return System.currentTimeMillis();
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   protected void processEventSource(T eventSource, Map<String, Object> variables) throws Exception {
     ((EventHolder) variables.get(ActivityExecutorContext.EVENT)).getArgs().put(EVENT_NAME_KEY, eventName);
@@ -27,6 +27,14 @@ public class V4MessageSentEventProcessor extends AbstractRealTimeEventProcessor<
     super(runtimeService, WorkflowEventType.MESSAGE_RECEIVED.getEventName());
   }
 
+  @Override
+  protected long eventTimestamp(V4MessageSent eventSource) {
+    if (eventSource.getMessage() != null && eventSource.getMessage().getTimestamp() != null) {
+      return eventSource.getMessage().getTimestamp();
+    }
+    return super.eventTimestamp(eventSource);
+  }
+
   @Override
   @SuppressWarnings({"unchecked", "rawtypes"})
   protected void processEventSource(V4MessageSent eventSource, Map<String, Object> variables)
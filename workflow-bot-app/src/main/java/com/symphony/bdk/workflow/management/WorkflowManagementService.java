@@ -4,6 +4,7 @@ import com.symphony.bdk.workflow.api.v1.dto.SwadlView;
 import com.symphony.bdk.workflow.api.v1.dto.VersionedWorkflowView;
 import com.symphony.bdk.workflow.configuration.ConditionalOnPropertyNotEmpty;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.exception.NotFoundException;
@@ -43,6 +44,7 @@ public class WorkflowManagementService {
       setCurrentActiveVersionToInactive(workflow.getId());
     }
     VersionedWorkflow versionedWorkflow = new VersionedWorkflowBiConverter(deploy).apply(workflow, swadlView);
+    setDirectedGraph(versionedWorkflow, context);
     versionRepository.save(versionedWorkflow);
   }
 
@@ -70,9 +72,16 @@ public class WorkflowManagementService {
       versionedWorkflow.setDeploymentId(deploy);
       versionedWorkflow.setActive(true);
     }
+    setDirectedGraph(versionedWorkflow, context);
     versionRepository.save(versionedWorkflow);
   }
 
+  private static void setDirectedGraph(VersionedWorkflow versionedWorkflow, CamundaTranslatedWorkflowContext context) {
+    Optional.ofNullable(context.getWorkflowDirectedGraph())
+        .map(CompactWorkflowDirectedGraph::of)
+        .ifPresent(versionedWorkflow::setDirectedGraph);
+  }
+
   private VersionedWorkflow readAndCheckIfLatestNonPublished(Workflow workflow) {
     Optional<VersionedWorkflow> latestVersion =
         versionRepository.findTopByWorkflowIdOrderByVersionDesc(workflow.getId());
@@ -1,7 +1,5 @@
 package com.symphony.bdk.workflow.monitoring.service;
 
-import static com.symphony.bdk.workflow.engine.WorkflowDirectedGraph.NodeChildren;
-
 import com.symphony.bdk.workflow.api.v1.dto.NodeStateView;
 import com.symphony.bdk.workflow.api.v1.dto.NodeView;
 import com.symphony.bdk.workflow.api.v1.dto.StatusEnum;
@@ -12,8 +10,7 @@ import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
-import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
-import com.symphony.bdk.workflow.engine.WorkflowNode;
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowNodeType;
 import com.symphony.bdk.workflow.engine.WorkflowNodeTypeHelper;
 import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
@@ -35,7 +32,6 @@ import org.springframework.stereotype.Component;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -88,7 +84,7 @@ public class MonitoringService {
 
     List<ActivityInstanceDomain> activityInstances =
         activityQueryRepository.findAllByWorkflowInstanceId(workflowId, instanceId, lifeCycleFilter);
-    WorkflowDirectedGraph directGraph = getWorkflowDirectedGraph(workflowId, instance.getVersion());
+    CompactWorkflowDirectedGraph directGraph = getWorkflowDirectedGraph(workflowId, instance.getVersion());
 
     List<NodeStateView> nodes = getNodeViews(activityInstances, directGraph);
     VariablesDomain globalVariables = this.variableQueryRepository.findVarsByWorkflowInstanceIdAndVarName(instanceId,
@@ -111,13 +107,13 @@ public class MonitoringService {
   }
 
   private List<NodeStateView> getNodeViews(List<ActivityInstanceDomain> activityInstances,
-      WorkflowDirectedGraph directGraph) {
+      CompactWorkflowDirectedGraph directGraph) {
     List<NodeStateView> nodes = objectConverter.convertCollection(activityInstances, NodeStateView.class);
     nodes.stream()
         .filter(node -> directGraph.isRegistered(node.getNodeId()))
         .forEach(node -> {
-          WorkflowNode workflowNode = directGraph.getDictionary().get(node.getNodeId());
-          String name = WorkflowNodeTypeHelper.toUpperUnderscore(workflowNode.getWrappedType().getSimpleName());
+          String name = WorkflowNodeTypeHelper.toUpperUnderscore(
+              directGraph.getWrappedType(node.getNodeId()).getSimpleName());
           node.setType(WorkflowNodeTypeHelper.toType(name));
           node.setGroup(WorkflowNodeTypeHelper.toGroup(name));
         });
@@ -129,15 +125,11 @@ public class MonitoringService {
   }
 
   public WorkflowNodesView getWorkflowDefinition(String workflowId, Long version) {
-    WorkflowDirectedGraph directedGraph = getWorkflowDirectedGraph(workflowId, version);
+    CompactWorkflowDirectedGraph directedGraph = getWorkflowDirectedGraph(workflowId, version);
 
-    Map<String, WorkflowNode> dictionary = directedGraph.getDictionary();
-    List<NodeView> activities = dictionary.keySet().stream().map(node -> {
-      WorkflowNode workflowNode = dictionary.get(node);
-      NodeChildren children = directedGraph.getChildren(node);
-      List<String> parents = directedGraph.getParents(node);
-      return buildNode(dictionary, node, workflowNode, children, parents);
-    }).collect(Collectors.toList());
+    List<NodeView> activities = directedGraph.getNodeIds().stream()
+        .map(node -> buildNode(directedGraph, node))
+        .collect(Collectors.toList());
 
     return WorkflowNodesView.builder()
         .workflowId(workflowId)
@@ -146,8 +138,8 @@ public class MonitoringService {
         .variables(directedGraph.getVariables()).build();
   }
 
-  private WorkflowDirectedGraph getWorkflowDirectedGraph(String workflowId, Long version) {
-    WorkflowDirectedGraph directGraph = Optional.ofNullable(version)
+  private CompactWorkflowDirectedGraph getWorkflowDirectedGraph(String workflowId, Long version) {
+    CompactWorkflowDirectedGraph directGraph = Optional.ofNullable(version)
         .map(v -> this.workflowDirectedGraphService.getDirectedGraph(workflowId, v))
         .orElse(this.workflowDirectedGraphService.getDirectedGraph(workflowId));
 
@@ -158,28 +150,28 @@ public class MonitoringService {
     return directGraph;
   }
 
-  private static NodeView buildNode(Map<String, WorkflowNode> dictionary, String key,
-      WorkflowNode workflowNode, NodeChildren children, List<String> parents) {
+  private static NodeView buildNode(CompactWorkflowDirectedGraph directedGraph, String key) {
     NodeView.NodeViewBuilder nodeBuilder = NodeView.builder()
         .nodeId(key)
-        .parents(parents)
-        .children(children.getChildren()
+        .parents(new ArrayList<>(directedGraph.getParents(key)))
+        .children(directedGraph.getChildren(key)
             .stream()
-            .map(c -> NodeView.ChildView.of(c, determineCondition(dictionary.get(c), key)))
+            .map(c -> NodeView.ChildView.of(c, determineCondition(directedGraph, c, key)))
             .collect(Collectors.toList()));
 
-    String name = WorkflowNodeTypeHelper.toUpperUnderscore(workflowNode.getWrappedType().getSimpleName());
+    String name = WorkflowNodeTypeHelper.toUpperUnderscore(directedGraph.getWrappedType(key).getSimpleName());
     nodeBuilder.type(WorkflowNodeTypeHelper.toType(name));
     nodeBuilder.group(WorkflowNodeTypeHelper.toGroup(name));
     return nodeBuilder.build();
   }
 
   @Nullable
-  private static String determineCondition(WorkflowNode child, String key) {
-    String condition = child.getIfCondition(key);
+  private static String determineCondition(CompactWorkflowDirectedGraph directedGraph, String child, String key) {
+    String condition = directedGraph.getIfCondition(child, key);
     if (condition == null) {
-      condition = child.getElementType() == WorkflowNodeType.ACTIVITY_EXPIRED_EVENT ? "expired"
-          : child.getElementType() == WorkflowNodeType.ACTIVITY_FAILED_EVENT ? "failed" : null;
+      WorkflowNodeType elementType = directedGraph.getElementType(child);
+      condition = elementType == WorkflowNodeType.ACTIVITY_EXPIRED_EVENT ? "expired"
+          : elementType == WorkflowNodeType.ACTIVITY_FAILED_EVENT ? "failed" : null;
     }
     return condition;
   }
@@ -2,30 +2,150 @@ package com.symphony.bdk.workflow.shared;
 
 import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+/**
+ * Shared data stored with one row per namespace and key. Writes are upserts of a single row, their cost does not
+ * depend on the namespace size. Reads of a single key are cached until the key is written, the cache holds the JSON
+ * form of the data so that each read gets its own copy.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
-@Transactional(propagation = Propagation.REQUIRES_NEW)
 public class DefaultSharedDataStore implements SharedDataStore {
-  private final SharedDataRepository repository;
+  public static final String SHARED_DATA = "SHARED_DATA";
+  private static final int MAX_WRITE_ATTEMPTS = 3;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final SharedDataEntryRepository repository;
+  private final Cache cache;
+  private final TransactionTemplate transactionTemplate;
+
+  public DefaultSharedDataStore(SharedDataEntryRepository repository, CacheManager cacheManager,
+      PlatformTransactionManager transactionManager) {
+    this.repository = repository;
+    this.cache = cacheManager.getCache(SHARED_DATA);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
 
   @Override
   public Map<String, Object> getNamespaceData(String namespace) {
-    return repository.findByNamespace(namespace).orElse(new SharedData()).getProperties();
+    Map<String, Object> data = new HashMap<>();
+    transactionTemplate.executeWithoutResult(
+        status -> repository.findByNamespace(namespace).forEach(entry -> data.put(entry.getKey(), entry.getValue())));
+    return data;
+  }
+
+  @Override
+  public Object getData(String namespace, String key) {
+    // same key as the evictions, concurrent misses for the same key read it once
+    List<String> cacheKey = Arrays.asList(namespace, key);
+    String json = cache.get(cacheKey, () -> toJson(transactionTemplate.execute(
+        status -> repository.findByNamespaceAndKey(namespace, key).map(SharedDataEntry::getValue).orElse(null))));
+    // callers such as scripts may modify the data they read, they must not modify the cached value
+    return fromJson(json);
   }
 
   @Override
+  @CacheEvict(cacheNames = SHARED_DATA, key = "{#namespace, #key}")
   public void putNamespaceData(String namespace, String key, Object data) {
-    SharedData sharedData = repository.findByNamespace(namespace).orElse(new SharedData().namespace(namespace));
-    sharedData.getProperties().put(key, data);
-    sharedData.setLastUpdated(Instant.now().toEpochMilli());
-    repository.save(sharedData);
+    writeWithRetries(namespace, key, () -> {
+      SharedDataEntry entry = repository.findByNamespaceAndKey(namespace, key)
+          .orElseGet(() -> new SharedDataEntry().namespace(namespace).key(key));
+      save(entry, data);
+      return null;
+    });
+  }
+
+  @Override
+  @CacheEvict(cacheNames = SHARED_DATA, key = "{#namespace, #key}")
+  public long increment(String namespace, String key, long delta) {
+    return writeWithRetries(namespace, key, () -> {
+      Optional<SharedDataEntry> entry = repository.findForUpdate(namespace, key);
+      long value = SharedDataStore.integralValue(namespace, key, entry.map(SharedDataEntry::getValue).orElse(null))
+          + delta;
+      save(entry.orElseGet(() -> new SharedDataEntry().namespace(namespace).key(key)), value);
+      return value;
+    });
+  }
+
+  @Override
+  @CacheEvict(cacheNames = SHARED_DATA, key = "{#namespace, #key}")
+  public boolean compareAndSet(String namespace, String key, Object expected, Object data) {
+    return writeWithRetries(namespace, key, () -> {
+      Optional<SharedDataEntry> entry = repository.findForUpdate(namespace, key);
+      if (!SharedDataStore.sameValue(entry.map(SharedDataEntry::getValue).orElse(null), expected)) {
+        return false;
+      }
+      save(entry.orElseGet(() -> new SharedDataEntry().namespace(namespace).key(key)), data);
+      return true;
+    });
+  }
+
+  @Override
+  @CacheEvict(cacheNames = SHARED_DATA, key = "{#namespace, #key}")
+  public Object putIfAbsent(String namespace, String key, Object data) {
+    return writeWithRetries(namespace, key, () -> {
+      Optional<SharedDataEntry> entry = repository.findByNamespaceAndKey(namespace, key);
+      if (entry.isPresent()) {
+        return entry.get().getValue();
+      }
+      save(new SharedDataEntry().namespace(namespace).key(key), data);
+      return null;
+    });
+  }
+
+  /**
+   * Existing rows are locked or versioned, concurrent writes to the same key fail on the lock, on the version or, when
+   * the key is created, on the unique constraint. They are retried on top of the write that won.
+   */
+  private <T> T writeWithRetries(String namespace, String key, Supplier<T> write) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> write.get());
+      } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+        if (attempt >= MAX_WRITE_ATTEMPTS) {
+          throw e;
+        }
+        log.debug("Concurrent write of shared data {}.{}, retrying", namespace, key);
+      }
+    }
+  }
+
+  private static String toJson(Object data) throws JsonProcessingException {
+    return data == null ? null : OBJECT_MAPPER.writeValueAsString(data);
+  }
+
+  private static Object fromJson(String json) {
+    try {
+      return json == null ? null : OBJECT_MAPPER.readValue(json, Object.class);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cached shared data cannot be read", e);
+    }
+  }
+
+  private void save(SharedDataEntry entry, Object data) {
+    entry.setValue(data);
+    entry.setLastUpdated(Instant.now().toEpochMilli());
+    repository.saveAndFlush(entry);
   }
 }
@@ -16,6 +16,11 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+/**
+ * Former storage of the shared data, one JSON document per namespace.
+ *
+ * @see SharedDataMigration
+ */
 @Entity
 @Table(name = "SHARED_STATE_DATA")
 @TypeDef(name = "json", typeClass = JsonType.class)
@@ -0,0 +1,61 @@
+package com.symphony.bdk.workflow.shared;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.TypeDef;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
+
+/**
+ * A single key of a shared data namespace, so that writing a key does not rewrite the whole namespace.
+ */
+@Entity
+@Table(name = "SHARED_DATA_ENTRY",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"NAMESPACE", "DATA_KEY"}),
+    indexes = @Index(name = "SHARED_DATA_NAMESPACE_IDX", columnList = "NAMESPACE"))
+@TypeDef(name = "json", typeClass = JsonType.class)
+@Data
+public class SharedDataEntry {
+  @Id
+  @GeneratedValue(generator = "system-uuid")
+  @GenericGenerator(name = "system-uuid", strategy = "uuid2")
+  @Column(name = "ID")
+  private String id;
+
+  @Column(name = "NAMESPACE", nullable = false, length = 15)
+  private String namespace;
+
+  @Column(name = "DATA_KEY", nullable = false)
+  private String key;
+
+  @Type(type = "json")
+  @Column(name = "DATA_VALUE", columnDefinition = "json")
+  private Object value;
+
+  @Version
+  @Column(name = "VERSION")
+  private Long version;
+
+  @Column(name = "LAST_UPDATED")
+  private Long lastUpdated;
+
+  public SharedDataEntry namespace(String namespace) {
+    this.setNamespace(namespace);
+    return this;
+  }
+
+  public SharedDataEntry key(String key) {
+    this.setKey(key);
+    return this;
+  }
+
+}
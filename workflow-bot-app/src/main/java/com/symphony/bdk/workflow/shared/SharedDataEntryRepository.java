@@ -0,0 +1,25 @@
+package com.symphony.bdk.workflow.shared;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
+
+@Repository
+public interface SharedDataEntryRepository extends JpaRepository<SharedDataEntry, String> {
+  List<SharedDataEntry> findByNamespace(String namespace);
+
+  Optional<SharedDataEntry> findByNamespaceAndKey(String namespace, String key);
+
+  /**
+   * Reads a key and locks its row until the end of the transaction, for read-modify-write operations.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select e from SharedDataEntry e where e.namespace = :namespace and e.key = :key")
+  Optional<SharedDataEntry> findForUpdate(@Param("namespace") String namespace, @Param("key") String key);
+}
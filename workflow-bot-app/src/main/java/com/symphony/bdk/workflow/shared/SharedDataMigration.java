@@ -0,0 +1,69 @@
+package com.symphony.bdk.workflow.shared;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+
+/**
+ * Moves the shared data stored as one JSON document per namespace in SHARED_STATE_DATA to one row per key. Keys
+ * already written in the new storage are kept as they are. A namespace is deleted from the former table once moved.
+ *
+ * <p>Each key is moved in its own transaction, so that instances starting at the same time and moving the same keys
+ * only skip the keys already moved by another instance.</p>
+ */
+@Slf4j
+@Component
+public class SharedDataMigration {
+  private final SharedDataRepository legacyRepository;
+  private final SharedDataEntryRepository repository;
+  private final TransactionTemplate transactionTemplate;
+
+  public SharedDataMigration(SharedDataRepository legacyRepository, SharedDataEntryRepository repository,
+      PlatformTransactionManager transactionManager) {
+    this.legacyRepository = legacyRepository;
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  public void migrate() {
+    transactionTemplate.execute(status -> legacyRepository.findAllIds()).forEach(id ->
+        transactionTemplate.execute(status -> legacyRepository.findById(id)).ifPresent(this::migrate));
+  }
+
+  private void migrate(SharedData sharedData) {
+    String namespace = sharedData.getNamespace();
+    long lastUpdated = sharedData.getLastUpdated() == null ? Instant.now().toEpochMilli() : sharedData.getLastUpdated();
+    for (Map.Entry<String, Object> property : sharedData.getProperties().entrySet()) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> migrate(namespace, property, lastUpdated));
+      } catch (DataIntegrityViolationException e) {
+        log.debug("Shared data key {} of namespace {} already moved", property.getKey(), namespace);
+      }
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> legacyRepository.delete(sharedData));
+    } catch (ConcurrencyFailureException e) {
+      log.debug("Shared data namespace {} already deleted", namespace);
+      return;
+    }
+    log.info("Shared data namespace {} moved to one row per key, {} keys", namespace,
+        sharedData.getProperties().size());
+  }
+
+  private void migrate(String namespace, Map.Entry<String, Object> property, long lastUpdated) {
+    if (repository.findByNamespaceAndKey(namespace, property.getKey()).isEmpty()) {
+      SharedDataEntry entry = new SharedDataEntry().namespace(namespace).key(property.getKey());
+      entry.setValue(property.getValue());
+      entry.setLastUpdated(lastUpdated);
+      repository.saveAndFlush(entry);
+    }
+  }
+}
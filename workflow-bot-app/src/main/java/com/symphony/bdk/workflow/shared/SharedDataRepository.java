@@ -1,11 +1,16 @@
 package com.symphony.bdk.workflow.shared;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
+/**
+ * Former storage of the shared data, only read to migrate it to {@link SharedDataEntryRepository}.
+ */
 @Repository
 public interface SharedDataRepository extends JpaRepository<SharedData, String> {
-  Optional<SharedData> findByNamespace(String namespace);
+  @Query("select s.id from SharedData s")
+  List<String> findAllIds();
 }
@@ -11,8 +11,17 @@ import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.reflections.util.FilterBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -20,32 +29,64 @@ import java.util.stream.Collectors;
 
 /**
  * Collect known activities (including custom ones) from the classpath.
+ *
+ * <p>Activities and executors are read from the index generated at build time by the workflow-language annotation
+ * processor. JARs from the lib/ folder without an index are scanned, as well as the whole classpath if no index is
+ * found (i.e. classes compiled without the annotation processor).</p>
  */
 @Slf4j
 @SuppressWarnings("unchecked")
 public final class ActivityRegistry {
 
+  // written by com.symphony.bdk.workflow.swadl.index.ActivityIndexProcessor
+  private static final String ACTIVITIES_INDEX = "META-INF/wdk/activities";
+  private static final String EXECUTORS_INDEX = "META-INF/wdk/activity-executors";
+
   private static final Set<Class<? extends BaseActivity>> activityTypes;
   private static final Map<Class<? extends BaseActivity>, Class<? extends ActivityExecutor<? extends BaseActivity>>>
       activityExecutors;
 
   static {
-    Reflections reflections = new Reflections(new ConfigurationBuilder()
-        .setScanners(new SubTypesScanner(false))
-        // this is a bit ugly but it works faster than scanning the entire classpath and for all contexts (JAR, tests)
-        .addUrls(ClasspathHelper.forClassLoader().stream()
-            // avoid bot's dependencies / pick only lib/ folder
-            .filter(a -> a.toString().contains("lib/") && !a.toString().contains("BOOT-INF"))
-            .collect(Collectors.toList()))
-        .addUrls(ClasspathHelper.forPackage("com.symphony.bdk.workflow"))
-        .filterInputsBy(new FilterBuilder().include(".*class")));
-    activityTypes = reflections.getSubTypesOf(BaseActivity.class);
+    long start = System.currentTimeMillis();
+    ClassLoader classLoader = classLoader();
+    List<URL> activityIndexes = resources(classLoader, ACTIVITIES_INDEX);
+    List<URL> executorIndexes = resources(classLoader, EXECUTORS_INDEX);
 
-    activityExecutors = reflections.getSubTypesOf(ActivityExecutor.class).stream()
+    Set<Class<? extends BaseActivity>> activities = new HashSet<>();
+    Set<Class<?>> executors = new HashSet<>();
+    List<URL> libUrls = ClasspathHelper.forClassLoader().stream()
+        // avoid bot's dependencies / pick only lib/ folder
+        .filter(a -> a.toString().contains("lib/") && !a.toString().contains("BOOT-INF"))
+        .collect(Collectors.toList());
+
+    if (executorIndexes.isEmpty()) {
+      // built without the annotation processor
+      Reflections reflections = scan(libUrls, ClasspathHelper.forPackage("com.symphony.bdk.workflow"));
+      activities.addAll(reflections.getSubTypesOf(BaseActivity.class));
+      executors.addAll(reflections.getSubTypesOf(ActivityExecutor.class));
+    } else {
+      activityIndexes.forEach(index -> loadIndex(classLoader, index)
+          .forEach(type -> activities.add((Class<? extends BaseActivity>) type)));
+      executorIndexes.forEach(index -> executors.addAll(loadIndex(classLoader, index)));
+
+      // custom activities built without the annotation processor
+      List<URL> notIndexedLibUrls = libUrls.stream()
+          .filter(url -> !isIndexed(url, activityIndexes) && !isIndexed(url, executorIndexes))
+          .collect(Collectors.toList());
+      if (!notIndexedLibUrls.isEmpty()) {
+        log.debug("Scanning {} for activities", notIndexedLibUrls);
+        Reflections reflections = scan(notIndexedLibUrls, Collections.emptyList());
+        activities.addAll(reflections.getSubTypesOf(BaseActivity.class));
+        executors.addAll(reflections.getSubTypesOf(ActivityExecutor.class));
+      }
+    }
+
+    activityTypes = activities;
+    activityExecutors = executors.stream()
         .map(Class.class::cast)
         .collect(Collectors.toMap(ActivityRegistry::findMatchingActivity, Function.identity()));
 
-    log.info("Found these activities: {}", activityTypes.stream()
+    log.info("Found these activities in {} ms: {}", System.currentTimeMillis() - start, activityTypes.stream()
         .map(Class::getSimpleName)
         .sorted()
         .collect(Collectors.toList()));
@@ -53,6 +94,51 @@ public final class ActivityRegistry {
     log.trace("Found these activities: {} and executors: {}", activityTypes, activityExecutors);
   }
 
+  private static Reflections scan(Collection<URL> libUrls, Collection<URL> packageUrls) {
+    return new Reflections(new ConfigurationBuilder()
+        .setScanners(new SubTypesScanner(false))
+        // this is a bit ugly but it works faster than scanning the entire classpath and for all contexts (JAR, tests)
+        .addUrls(libUrls)
+        .addUrls(packageUrls)
+        .filterInputsBy(new FilterBuilder().include(".*class")));
+  }
+
+  private static ClassLoader classLoader() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return classLoader != null ? classLoader : ActivityRegistry.class.getClassLoader();
+  }
+
+  private static List<URL> resources(ClassLoader classLoader, String name) {
+    try {
+      return Collections.list(classLoader.getResources(name));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to look up activity index " + name, e);
+    }
+  }
+
+  private static boolean isIndexed(URL libUrl, List<URL> indexes) {
+    // index URLs look like jar:file:/lib/activity.jar!/META-INF/wdk/activities
+    return indexes.stream().anyMatch(index -> index.toString().contains(libUrl.toString() + "!/"));
+  }
+
+  private static Set<Class<?>> loadIndex(ClassLoader classLoader, URL index) {
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+      Set<Class<?>> classes = new HashSet<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) {
+          classes.add(Class.forName(line.trim(), false, classLoader));
+        }
+      }
+      return classes;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read activity index " + index, e);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Activity index " + index + " references an unknown class", e);
+    }
+  }
+
   private static Class<? extends BaseActivity> findMatchingActivity(
       Class<? extends ActivityExecutor<? extends BaseActivity>> a) {
     try {
@@ -10,11 +10,14 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.google.common.hash.Hashing;
 import org.apache.commons.io.IOUtils;
 
 import java.io.File;
@@ -28,6 +31,10 @@ public class SwadlParser {
   private static final ObjectMapper MAPPER = new ObjectMapper(
       new YAMLFactory().configure(JsonGenerator.Feature.IGNORE_UNKNOWN, true));
 
+  // formatting, comments and keys order do not change the content hash
+  private static final ObjectMapper NORMALIZING_MAPPER = new ObjectMapper()
+      .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
   static {
     MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     MAPPER.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE);
@@ -43,19 +50,29 @@ public class SwadlParser {
   }
 
   public static Workflow fromYaml(InputStream yaml) throws IOException, ProcessingException {
-    String yamlString = IOUtils.toString(yaml, StandardCharsets.UTF_8);
-    SwadlValidator.validateYaml(yamlString);
-    return MAPPER.readValue(yamlString, Workflow.class);
+    return parse(IOUtils.toString(yaml, StandardCharsets.UTF_8));
   }
 
   public static Workflow fromYaml(String yamlString) throws IOException, ProcessingException {
-    SwadlValidator.validateYaml(yamlString);
-    return MAPPER.readValue(yamlString, Workflow.class);
+    return parse(yamlString);
   }
 
   public static Workflow fromYaml(File workflowFile) throws IOException, ProcessingException {
-    String yamlString = Files.readString(workflowFile.toPath(), StandardCharsets.UTF_8);
-    SwadlValidator.validateYaml(yamlString);
-    return MAPPER.readValue(yamlString, Workflow.class);
+    return parse(Files.readString(workflowFile.toPath(), StandardCharsets.UTF_8));
+  }
+
+  // the YAML content is parsed only once, then validated and bound from the same tree
+  private static Workflow parse(String yamlString) throws IOException, ProcessingException {
+    JsonNode yamlTree = SwadlValidator.readYaml(yamlString);
+    String contentHash = contentHash(yamlTree);
+    SwadlValidator.validate(yamlTree, yamlString, contentHash);
+    Workflow workflow = MAPPER.treeToValue(yamlTree, Workflow.class);
+    workflow.setContentHash(contentHash);
+    return workflow;
+  }
+
+  private static String contentHash(JsonNode yamlTree) throws IOException {
+    String normalized = NORMALIZING_MAPPER.writeValueAsString(NORMALIZING_MAPPER.treeToValue(yamlTree, Object.class));
+    return Hashing.sha256().hashString(normalized, StandardCharsets.UTF_8).toString();
   }
 }
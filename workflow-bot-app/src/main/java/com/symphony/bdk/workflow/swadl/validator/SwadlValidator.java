@@ -9,6 +9,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
 import com.github.fge.jsonschema.core.report.ListReportProvider;
 import com.github.fge.jsonschema.core.report.LogLevel;
@@ -26,6 +28,7 @@ import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 
 /**
  * Validates a SWADL workflow written in YAML.
@@ -42,17 +45,24 @@ public class SwadlValidator {
       .setReportProvider(new ListReportProvider(LogLevel.ERROR, LogLevel.FATAL))
       .freeze();
 
-  private static final JsonNode jsonSchema;
+  private static final JsonSchema schema;
+
+  // hashes of contents that have already been validated successfully
+  private static final Cache<String, Boolean> VALID_CONTENTS = Caffeine.newBuilder()
+      .maximumSize(1000)
+      .build();
 
   static {
-    // load it only once as it won't change dynamically (i.e. we don't support adding new custom activities on the fly)
+    // load and compile it only once as it won't change dynamically
+    // (i.e. we don't support adding new custom activities on the fly)
     try (InputStream schemaStream = SwadlValidator.class.getResourceAsStream(JSON_SCHEMA_FILE)) {
       if (schemaStream == null) {
         throw new IOException("Could not read JSON schema from classpath location: " + JSON_SCHEMA_FILE);
       }
-      jsonSchema = OBJECT_MAPPER.readTree(schemaStream);
+      JsonNode jsonSchema = OBJECT_MAPPER.readTree(schemaStream);
       addCustomActivitiesToSchema(jsonSchema);
-    } catch (IOException e) {
+      schema = JSON_SCHEMA_FACTORY.getJsonSchema(jsonSchema);
+    } catch (IOException | ProcessingException e) {
       throw new IllegalStateException("Failed to load JSON schema", e);
     }
   }
@@ -61,29 +71,48 @@ public class SwadlValidator {
   }
 
   public static void validateYaml(String yaml) throws SwadlNotValidException, ProcessingException {
-    validate(yaml);
+    validate(readYaml(yaml), yaml, null);
   }
 
-  private static void validate(String yaml) throws ProcessingException, SwadlNotValidException {
-
-    final JsonSchema schema = JSON_SCHEMA_FACTORY.getJsonSchema(jsonSchema);
+  /**
+   * Parses YAML content, the resulting tree can be validated and then bound to the SWADL model.
+   */
+  public static JsonNode readYaml(String yaml) throws SwadlNotValidException {
     try {
-      JsonNode yamlTree = YAML_READER.readTree(yaml);
-      ProcessingReport report = schema.validate(yamlTree);
-
-      if (!report.isSuccess()) {
-        YamlJsonPointer yamlJsonPointer = new YamlJsonPointer(new StringReader(yaml));
-        List<SwadlError> errors =
-            StreamSupport.stream(Spliterators.spliteratorUnknownSize(report.iterator(), Spliterator.ORDERED), false)
-                .map(e -> ProcessingMessageToSwadlError.convert(yamlTree, yamlJsonPointer, e))
-                .collect(Collectors.toList());
-        throw new SwadlNotValidException(errors, report.toString());
-      }
+      return YAML_READER.readTree(yaml);
     } catch (JsonProcessingException e) {
       throw new SwadlNotValidException(e);
     }
   }
 
+  /**
+   * Validates an already parsed YAML content.
+   *
+   * @param yamlTree    Parsed content
+   * @param yaml        Original content, only used to report the lines of errors
+   * @param contentHash Hash of the content, if set successful validations are cached
+   */
+  public static void validate(JsonNode yamlTree, String yaml, @Nullable String contentHash)
+      throws ProcessingException, SwadlNotValidException {
+    if (contentHash != null && VALID_CONTENTS.getIfPresent(contentHash) != null) {
+      return;
+    }
+
+    ProcessingReport report = schema.validate(yamlTree);
+    if (!report.isSuccess()) {
+      YamlJsonPointer yamlJsonPointer = new YamlJsonPointer(new StringReader(yaml));
+      List<SwadlError> errors =
+          StreamSupport.stream(Spliterators.spliteratorUnknownSize(report.iterator(), Spliterator.ORDERED), false)
+              .map(e -> ProcessingMessageToSwadlError.convert(yamlTree, yamlJsonPointer, e))
+              .collect(Collectors.toList());
+      throw new SwadlNotValidException(errors, report.toString());
+    }
+
+    if (contentHash != null) {
+      VALID_CONTENTS.put(contentHash, Boolean.TRUE);
+    }
+  }
+
   /**
    * On the fly, we add the custom activities discovered in the classpath to the JSON Schema.This way we can validate
    * them at least for basic attributes.
@@ -0,0 +1,67 @@
+package com.symphony.bdk.workflow.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends spans to a local file, one JSON object per line.
+ *
+ * <p>Once the file reaches its maximum size, it is renamed with a .1 suffix, replacing the previous one, and a new file
+ * is started. About twice the maximum size is used on disk.</p>
+ */
+public class FileSpanExporter implements SpanExporter {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final Path file;
+  private final Path rolledFile;
+  private final long maxSize;
+
+  /**
+   * @param maxSize maximum size of the file in bytes, 0 or less for no limit
+   */
+  public FileSpanExporter(Path file, long maxSize) {
+    this.file = file;
+    this.rolledFile = file.resolveSibling(file.getFileName() + ".1");
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public void export(List<Span> spans) throws IOException {
+    StringBuilder lines = new StringBuilder();
+    for (Span span : spans) {
+      lines.append(OBJECT_MAPPER.writeValueAsString(toJson(span))).append('\n');
+    }
+    byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+    if (maxSize > 0 && Files.exists(file) && Files.size(file) + bytes.length > maxSize) {
+      Files.move(file, rolledFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+    Files.write(file, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+
+  private static Map<String, Object> toJson(Span span) {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("traceId", span.getTraceId());
+    json.put("spanId", span.getSpanId());
+    json.put("parentSpanId", span.getParentSpanId());
+    json.put("name", span.getName());
+    json.put("kind", span.getKind().name());
+    json.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+    json.put("durationMs", span.durationMillis());
+    json.put("error", span.isError());
+    json.put("attributes", span.getAttributes());
+    return json;
+  }
+
+}
@@ -0,0 +1,85 @@
+package com.symphony.bdk.workflow.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Sends spans to an OpenTelemetry collector with the OTLP/HTTP protocol and JSON encoding.
+ */
+public class OtlpSpanExporter implements SpanExporter {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final int STATUS_CODE_ERROR = 2;
+
+  private final URI endpoint;
+  private final String serviceName;
+  private final HttpClient httpClient;
+  private final Duration timeout;
+
+  public OtlpSpanExporter(String endpoint, String serviceName, Duration timeout) {
+    this.endpoint = URI.create(endpoint);
+    this.serviceName = serviceName;
+    this.timeout = timeout;
+    this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+  }
+
+  @Override
+  public void export(List<Span> spans) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(endpoint)
+        .timeout(timeout)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(toJson(spans))))
+        .build();
+    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() >= 300) {
+      throw new IOException("Collector rejected spans with status " + response.statusCode());
+    }
+  }
+
+  Map<String, Object> toJson(List<Span> spans) {
+    Map<String, Object> scopeSpans = Map.of(
+        "scope", Map.of("name", "com.symphony.bdk.workflow"),
+        "spans", spans.stream().map(OtlpSpanExporter::toOtlpSpan).collect(Collectors.toList()));
+    Map<String, Object> resourceSpans = Map.of(
+        "resource", Map.of("attributes", List.of(attribute("service.name", serviceName))),
+        "scopeSpans", List.of(scopeSpans));
+    return Map.of("resourceSpans", List.of(resourceSpans));
+  }
+
+  private static Map<String, Object> toOtlpSpan(Span span) {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("traceId", span.getTraceId());
+    json.put("spanId", span.getSpanId());
+    if (span.getParentSpanId() != null) {
+      json.put("parentSpanId", span.getParentSpanId());
+    }
+    json.put("name", span.getName());
+    // OTLP kinds are numbered from 1 (internal), 0 being unspecified
+    json.put("kind", span.getKind().ordinal() + 1);
+    // 64 bits integers are encoded as strings in OTLP/JSON
+    json.put("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+    json.put("endTimeUnixNano", String.valueOf(span.getEndEpochNanos()));
+    json.put("attributes", span.getAttributes().entrySet().stream()
+        .map(e -> attribute(e.getKey(), e.getValue()))
+        .collect(Collectors.toList()));
+    if (span.isError()) {
+      json.put("status", Map.of("code", STATUS_CODE_ERROR));
+    }
+    return json;
+  }
+
+  private static Map<String, Object> attribute(String key, String value) {
+    return Map.of("key", key, "value", Map.of("stringValue", value));
+  }
+
+}
@@ -0,0 +1,79 @@
+package com.symphony.bdk.workflow.tracing;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed operation of a trace, such as the dispatch of an event or the execution of an activity.
+ *
+ * <p>Spans are identified as in the <a href="https://www.w3.org/TR/trace-context/">W3C trace context</a>, the
+ * {@link #traceparent()} of a span is the parent of the spans it starts, within the bot or in the services it calls.
+ * </p>
+ */
+@Getter
+public class Span {
+
+  /**
+   * Role of the span in the trace, as defined by OpenTelemetry.
+   */
+  public enum Kind {
+    INTERNAL, SERVER, CLIENT
+  }
+
+  private final Tracer tracer;
+  private final String name;
+  private final String traceId;
+  private final String spanId;
+  private final String parentSpanId;
+  private final long startEpochNanos;
+  private final Map<String, String> attributes = new LinkedHashMap<>();
+  private Kind kind = Kind.INTERNAL;
+  private long endEpochNanos;
+  private boolean error;
+
+  Span(Tracer tracer, String name, String traceId, String spanId, String parentSpanId, long startEpochNanos) {
+    this.tracer = tracer;
+    this.name = name;
+    this.traceId = traceId;
+    this.spanId = spanId;
+    this.parentSpanId = parentSpanId;
+    this.startEpochNanos = startEpochNanos;
+  }
+
+  public Span kind(Kind kind) {
+    this.kind = kind;
+    return this;
+  }
+
+  public Span tag(String key, Object value) {
+    if (value != null) {
+      this.attributes.put(key, value.toString());
+    }
+    return this;
+  }
+
+  public Span error(Throwable throwable) {
+    this.error = true;
+    return this.tag("error", throwable.getClass().getSimpleName());
+  }
+
+  public void end() {
+    this.endEpochNanos = Tracer.nowEpochNanos();
+    this.tracer.finish(this);
+  }
+
+  /**
+   * W3C traceparent header value identifying this span.
+   */
+  public String traceparent() {
+    return Tracer.traceparent(this.traceId, this.spanId);
+  }
+
+  public long durationMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(this.endEpochNanos - this.startEpochNanos);
+  }
+
+}
@@ -0,0 +1,13 @@
+package com.symphony.bdk.workflow.tracing;
+
+import java.util.List;
+
+/**
+ * Sends finished spans out of the bot, they are exported in batches from a single thread.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+
+  void export(List<Span> spans) throws Exception;
+
+}
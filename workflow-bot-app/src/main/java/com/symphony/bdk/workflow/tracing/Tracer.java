@@ -0,0 +1,125 @@
+package com.symphony.bdk.workflow.tracing;
+
+import com.symphony.bdk.workflow.engine.BatchDispatcher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts spans and exports them once finished.
+ *
+ * <p>The trace context is propagated as a W3C traceparent: in the {@link #TRACE_PARENT} MDC entry on the current
+ * thread, in the event variable of processes and in the headers of outbound HTTP requests. Finished spans are queued in
+ * a bounded buffer and exported in batches by a single thread, they are dropped when the buffer is full. Without an
+ * exporter, spans are only used to propagate the trace context.</p>
+ */
+public class Tracer {
+
+  public static final String TRACE_PARENT = "X-TRACE-PARENT";
+  public static final String TRACE_PARENT_HEADER = "traceparent";
+  public static final String QUEUE_SIZE = "workflow.tracing.spans.queued";
+  public static final String DROPPED = "workflow.tracing.spans.dropped";
+
+  private static final Pattern TRACE_PARENT_PATTERN =
+      Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+
+  private final BatchDispatcher<Span> dispatcher;
+
+  public Tracer(MeterRegistry meterRegistry, SpanExporter exporter, int capacity, int batchSize) {
+    Counter dropped = meterRegistry.counter(DROPPED);
+    this.dispatcher = exporter == null ? null
+        : new BatchDispatcher<>("tracing-export", capacity, batchSize, exporter::export, meterRegistry, QUEUE_SIZE,
+            dropped);
+  }
+
+  /**
+   * Starts a span now.
+   *
+   * @param parent W3C traceparent of the parent span, a new trace is started if null or invalid
+   */
+  public Span startSpan(String name, String parent) {
+    return startSpan(name, parent, nowEpochNanos());
+  }
+
+  /**
+   * Starts a span at a given time, such as the creation of the event it handles.
+   */
+  public Span startSpan(String name, String parent, long startEpochNanos) {
+    Matcher matcher = parent == null ? null : TRACE_PARENT_PATTERN.matcher(parent);
+    if (matcher != null && matcher.matches()) {
+      return new Span(this, name, matcher.group(1), randomHex(8), matcher.group(2), startEpochNanos);
+    }
+    return new Span(this, name, randomHex(16), randomHex(8), null, startEpochNanos);
+  }
+
+  void finish(Span span) {
+    if (dispatcher != null) {
+      dispatcher.offer(span);
+    }
+  }
+
+  /**
+   * Waits for finished spans to be exported.
+   */
+  public void close() throws InterruptedException {
+    if (dispatcher != null) {
+      dispatcher.close();
+    }
+  }
+
+  /**
+   * Trace context of the current thread, if any.
+   */
+  public static String currentTraceparent() {
+    return MDC.get(TRACE_PARENT);
+  }
+
+  /**
+   * Sets the trace context of the current thread.
+   *
+   * @return the previous trace context, to be restored once done
+   */
+  public static String setCurrentTraceparent(String traceparent) {
+    String previous = MDC.get(TRACE_PARENT);
+    if (traceparent == null) {
+      MDC.remove(TRACE_PARENT);
+    } else {
+      MDC.put(TRACE_PARENT, traceparent);
+    }
+    return previous;
+  }
+
+  public static String traceIdOf(String traceparent) {
+    Matcher matcher = traceparent == null ? null : TRACE_PARENT_PATTERN.matcher(traceparent);
+    return matcher != null && matcher.matches() ? matcher.group(1) : null;
+  }
+
+  static String traceparent(String traceId, String spanId) {
+    return "00-" + traceId + "-" + spanId + "-01";
+  }
+
+  public static long nowEpochNanos() {
+    return toEpochNanos(Instant.now());
+  }
+
+  public static long toEpochNanos(Instant instant) {
+    return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+  }
+
+  private static String randomHex(int bytes) {
+    StringBuilder hex = new StringBuilder(bytes * 2);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < bytes; i++) {
+      hex.append(String.format("%02x", random.nextInt(256)));
+    }
+    return hex.toString();
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.symphony.bdk.workflow.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tracing of events from their reception to the activities they trigger. Spans are exported to a local file or to an
+ * OpenTelemetry collector depending on the configured exporter, with none they are not exported.
+ */
+@Configuration
+public class TracingConfiguration {
+
+  @Bean(destroyMethod = "close")
+  public Tracer tracer(MeterRegistry meterRegistry,
+      @Value("${wdk.properties.tracing.exporter:none}") String exporter,
+      @Value("${wdk.properties.tracing.file:./spans.jsonl}") String file,
+      @Value("${wdk.properties.tracing.file-max-size:104857600}") long fileMaxSize,
+      @Value("${wdk.properties.tracing.otlp.endpoint:http://localhost:4318/v1/traces}") String otlpEndpoint,
+      @Value("${wdk.properties.tracing.otlp.timeout:PT10S}") String otlpTimeout,
+      @Value("${wdk.properties.tracing.service-name:workflow-bot}") String serviceName,
+      @Value("${wdk.properties.tracing.capacity:10000}") int capacity,
+      @Value("${wdk.properties.tracing.batch-size:512}") int batchSize) {
+    return new Tracer(meterRegistry,
+        spanExporter(exporter, file, fileMaxSize, otlpEndpoint, otlpTimeout, serviceName), capacity, batchSize);
+  }
+
+  private static SpanExporter spanExporter(String exporter, String file, long fileMaxSize, String otlpEndpoint,
+      String otlpTimeout, String serviceName) {
+    switch (exporter.toLowerCase()) {
+      case "none":
+        return null;
+      case "file":
+        return new FileSpanExporter(Path.of(file), fileMaxSize);
+      case "otlp":
+        return new OtlpSpanExporter(otlpEndpoint, serviceName, Duration.parse(otlpTimeout));
+      default:
+        throw new IllegalArgumentException("Unknown span exporter " + exporter + ", expected none, file or otlp");
+    }
+  }
+
+}
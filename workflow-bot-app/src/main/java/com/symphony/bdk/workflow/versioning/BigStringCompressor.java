@@ -38,16 +38,8 @@ public class BigStringCompressor implements AttributeConverter<String, byte[]> {
   }
 
   private static String decompress(byte[] dbData) throws IOException {
-    ByteArrayInputStream inputStream = new ByteArrayInputStream(dbData);
-    GZIPInputStream gzipInputStream = new GZIPInputStream(inputStream);
-    byte[] buffer = new byte[100];
-    int length;
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    while ((length = gzipInputStream.read(buffer)) > 0) {
-      outputStream.write(buffer, 0, length);
+    try (GZIPInputStream gzipInputStream = new GZIPInputStream(new ByteArrayInputStream(dbData))) {
+      return new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8);
     }
-    gzipInputStream.close();
-    outputStream.close();
-    return outputStream.toString(StandardCharsets.UTF_8);
   }
 }
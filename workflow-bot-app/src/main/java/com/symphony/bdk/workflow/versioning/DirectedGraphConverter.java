@@ -0,0 +1,43 @@
+package com.symphony.bdk.workflow.versioning;
+
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores the directed graph of a workflow version in its binary form. Graphs that cannot be read back (older format,
+ * removed custom activity) are ignored, they are then built again from the SWADL.
+ */
+@Converter
+@Slf4j
+public class DirectedGraphConverter implements AttributeConverter<CompactWorkflowDirectedGraph, byte[]> {
+  @Override
+  public byte[] convertToDatabaseColumn(CompactWorkflowDirectedGraph attribute) {
+    if (attribute == null) {
+      return null;
+    }
+    try {
+      return attribute.toBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public CompactWorkflowDirectedGraph convertToEntityAttribute(byte[] dbData) {
+    if (dbData == null) {
+      return null;
+    }
+    try {
+      return CompactWorkflowDirectedGraph.fromBytes(dbData);
+    } catch (IOException e) {
+      log.debug("Stored directed graph cannot be read, it will be built from the SWADL", e);
+      return null;
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.symphony.bdk.workflow.versioning.model;
 
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.versioning.BigStringCompressor;
+import com.symphony.bdk.workflow.versioning.DirectedGraphConverter;
 
 import lombok.Data;
 import lombok.Generated;
@@ -43,6 +45,13 @@ public class VersionedWorkflow {
   @Column(name = "SWADL", length = Integer.MAX_VALUE, nullable = false)
   @Convert(converter = BigStringCompressor.class)
   private String swadl;
+  /**
+   * Graph built at deployment, to avoid parsing the SWADL again to monitor the workflow.
+   */
+  @Lob
+  @Column(name = "DIRECTED_GRAPH", length = Integer.MAX_VALUE)
+  @Convert(converter = DirectedGraphConverter.class)
+  private CompactWorkflowDirectedGraph directedGraph;
   @Column(name = "DEPLOY_ID", length = 64)
   private String deploymentId;
   @Column(name = "ACTIVE")
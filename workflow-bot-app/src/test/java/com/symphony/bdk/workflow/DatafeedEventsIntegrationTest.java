@@ -1,6 +1,7 @@
 package com.symphony.bdk.workflow;
 
 import static com.symphony.bdk.workflow.custom.assertion.WorkflowAssert.content;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -141,6 +142,21 @@ class DatafeedEventsIntegrationTest extends IntegrationTest {
     engine.onEvent(messageReceived("abc", "/go room name"));
 
     verify(messageService, timeout(5000).times(1)).send(eq("abc"), content("Received room name"));
+    // without an id, the event is only stored as the event variable
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .variableName("message-received_/go {arg1}").count()).isZero();
+  }
+
+  @Test
+  void onMessageReceivedWithId() throws IOException, ProcessingException {
+    final Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream(
+        "/event/message-received-id.swadl.yaml"));
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("abc", "/go room"));
+
+    verify(messageService, timeout(5000).times(1)).send(eq("abc"), content("Received room"));
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableName("start").count()).isPositive();
   }
 
   @Test
@@ -63,6 +63,19 @@ class EngineIntegrationTest extends IntegrationTest {
     assertThat(lastProcess(workflow)).isEmpty();
   }
 
+  @Test
+  void deployUnchangedWorkflow() throws IOException, ProcessingException {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/message/send-message-on-message.swadl.yaml"));
+    final Workflow sameWorkflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/message/send-message-on-message.swadl.yaml"));
+
+    String deploymentId = engine.deploy(workflow);
+
+    assertThat(engine.deploy(sameWorkflow)).isEqualTo(deploymentId);
+    assertThat(repositoryService.createDeploymentQuery().deploymentName(workflow.getId()).count()).isEqualTo(1);
+  }
+
   @Test
   void deployTwoWorkflowsSameId() throws IOException, ProcessingException {
     final Workflow workflowOne = SwadlParser.fromYaml(getClass().getResourceAsStream(
@@ -6,6 +6,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.delete;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.options;
 import static com.github.tomakehurst.wiremock.client.WireMock.patch;
@@ -13,6 +14,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.put;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.symphony.bdk.workflow.custom.assertion.Assertions.assertThat;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
@@ -30,6 +32,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 @WireMockTest
@@ -130,6 +133,71 @@ class ExecuteRequestIntegrationTest extends IntegrationTest {
     assertThat(workflow).isExecuted().executed("executeGetRequest", "assertionScript");
   }
 
+  @Test
+  void executeCachedGetRequest(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/request/execute-request-cached-GET.swadl.yaml"));
+
+    workflow.getActivities().subList(0, 2).forEach(activity -> activity.getActivity()
+        .getVariableProperties()
+        .put("url", wmRuntimeInfo.getHttpBaseUrl() + "/cached-api"));
+
+    stubFor(get("/cached-api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withHeader("Cache-Control", "max-age=60")
+        .withBody("{\"name\": \"john\"}")));
+
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute"));
+
+    assertThat(workflow).isExecuted()
+        .executed("executeCachedGetRequest", "executeCachedGetRequestAgain", "assertionScript");
+    verify(1, getRequestedFor(urlEqualTo("/cached-api")));
+  }
+
+  @Test
+  void executeRequestResponseToFile(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/request/execute-request-response-file.swadl.yaml"));
+
+    putFirstActivityUrl(workflow, wmRuntimeInfo.getHttpBaseUrl() + "/export");
+
+    stubFor(get("/export").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withBody("{\"user\": {\"name\": \"john\"}, \"items\": [1, 2, 3]}")));
+
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute"));
+
+    assertThat(workflow).isExecuted().executed("executeRequestToFile", "assertionScript");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void executeRequests(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/request/execute-requests.swadl.yaml"));
+
+    Map<String, Map<String, Object>> requests = (Map<String, Map<String, Object>>) workflow.getFirstActivity()
+        .get()
+        .getActivity()
+        .getVariableProperties()
+        .get("requests");
+    requests.forEach((name, request) -> request.put("url", wmRuntimeInfo.getHttpBaseUrl() + "/" + name));
+
+    stubFor(get("/first").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withBody("{\"name\": \"john\"}")));
+    stubFor(post("/second").withRequestBody(equalToJson("{\"key\":\"value\"}"))
+        .willReturn(aResponse().withStatus(201)));
+    stubFor(get("/slow").willReturn(ok().withFixedDelay(2000)));
+
+    engine.deploy(workflow);
+
+    engine.onEvent(messageReceived("/execute"));
+
+    assertThat(workflow).isExecuted().executed("executeRequests", "assertionScript");
+  }
+
   @Test
   void executeRequestException(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
     final Workflow workflow =
@@ -0,0 +1,78 @@
+package com.symphony.bdk.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.symphony.bdk.core.service.message.model.Message;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Properties;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class HistoryIntegrationTest extends IntegrationTest {
+
+  @Test
+  void historyNone() throws Exception {
+    Workflow workflow = run("none");
+
+    assertThat(workflow.getProperties().getHistory()).isEqualTo(Properties.History.NONE);
+    assertThat(historyService.createHistoricProcessInstanceQuery().processDefinitionKey("history-none").count())
+        .isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().processDefinitionId(definitionId("history-none"))
+        .count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .processDefinitionId(definitionId("history-none")).count()).isZero();
+  }
+
+  @Test
+  void historyActivity() throws Exception {
+    run("activity");
+
+    assertThat(finishedProcessById("history-activity")).hasSize(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery()
+        .processDefinitionId(definitionId("history-activity")).count()).isPositive();
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .processDefinitionId(definitionId("history-activity")).count()).isZero();
+    assertThat(repositoryService.getProcessDefinition(definitionId("history-activity")).getHistoryTimeToLive())
+        .isEqualTo(7);
+  }
+
+  @Test
+  void historyFull() throws Exception {
+    run("full");
+
+    assertThat(finishedProcessById("history-full")).hasSize(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery()
+        .processDefinitionId(definitionId("history-full")).count()).isPositive();
+    assertThat(historyService.createHistoricVariableInstanceQuery()
+        .processDefinitionId(definitionId("history-full")).count()).isPositive();
+  }
+
+  private Workflow run(String history) throws Exception {
+    Workflow workflow = SwadlParser.fromYaml(
+        getClass().getResourceAsStream(String.format("/history/history-%s.swadl.yaml", history)));
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message("msgId"));
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("/history-" + history));
+
+    verify(messageService, timeout(5000)).send(anyString(), any(Message.class));
+    await().atMost(5, TimeUnit.SECONDS).until(() ->
+        runtimeService.createProcessInstanceQuery().processDefinitionKey(workflow.getId()).count() == 0);
+    return workflow;
+  }
+
+  private static String definitionId(String key) {
+    return repositoryService.createProcessDefinitionQuery().processDefinitionKey(key).latestVersion()
+        .singleResult().getId();
+  }
+
+}
@@ -1,6 +1,7 @@
 package com.symphony.bdk.workflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.timeout;
@@ -9,18 +10,47 @@ import static org.mockito.Mockito.when;
 
 import com.symphony.bdk.core.service.message.model.Message;
 import com.symphony.bdk.gen.api.model.V4Message;
+import com.symphony.bdk.workflow.engine.executor.SharedDataStore;
+import com.symphony.bdk.workflow.shared.DefaultSharedDataStore;
+import com.symphony.bdk.workflow.shared.SharedData;
+import com.symphony.bdk.workflow.shared.SharedDataEntry;
+import com.symphony.bdk.workflow.shared.SharedDataEntryRepository;
+import com.symphony.bdk.workflow.shared.SharedDataMigration;
 import com.symphony.bdk.workflow.shared.SharedDataRepository;
 import com.symphony.bdk.workflow.swadl.SwadlParser;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 public class SharedDataIntegrationTest extends IntegrationTest {
 
-  @Autowired SharedDataRepository sharedDataRepository;
+  @Autowired SharedDataEntryRepository sharedDataEntryRepository;
+  @Autowired SharedDataRepository legacySharedDataRepository;
+  @Autowired SharedDataStore sharedDataStore;
+  @Autowired SharedDataMigration sharedDataMigration;
+  @Autowired CacheManager cacheManager;
+
+  @AfterEach
+  void cleanup() {
+    sharedDataEntryRepository.deleteAll();
+    legacySharedDataRepository.deleteAll();
+    cacheManager.getCache(DefaultSharedDataStore.SHARED_DATA).clear();
+  }
 
   @Test
   @DisplayName("Share counter between process instances")
@@ -40,7 +70,6 @@ public class SharedDataIntegrationTest extends IntegrationTest {
     engine.onEvent(messageReceived("/count"));
     verify(messageService, timeout(5000).times(4)).send(anyString(), captor.capture());
     assertThat(captor.getValue().getContent()).contains("2");
-    sharedDataRepository.deleteAll();
   }
 
   @Test
@@ -64,7 +93,146 @@ public class SharedDataIntegrationTest extends IntegrationTest {
     engine.onEvent(messageReceived("/count2"));
     verify(messageService, timeout(5000).times(4)).send(anyString(), captor.capture());
     assertThat(captor.getValue().getContent()).contains("2");
-    sharedDataRepository.deleteAll();
+  }
+
+  @Test
+  void incrementFromWorkflow() throws Exception {
+    final Workflow workflow =
+        SwadlParser.fromYaml(getClass().getResourceAsStream("/shareddata/shared-atomic-counter.swadl.yaml"));
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message("/increment"));
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("/increment"));
+    engine.onEvent(messageReceived("/increment"));
+
+    ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+    verify(messageService, timeout(5000).times(2)).send(anyString(), captor.capture());
+    assertThat(captor.getAllValues()).extracting(Message::getContent)
+        .anySatisfy(content -> assertThat(content).contains("counter is 2"))
+        .anySatisfy(content -> assertThat(content).contains("counter is 4"));
+  }
+
+  @Test
+  void writeKey_otherKeysUntouched() {
+    sharedDataStore.putNamespaceData("namespace", "key1", "value1");
+    sharedDataStore.putNamespaceData("namespace", "key2", Map.of("nested", 1));
+    sharedDataStore.putNamespaceData("namespace", "key1", "value2");
+
+    assertThat(sharedDataStore.getData("namespace", "key1")).isEqualTo("value2");
+    assertThat(sharedDataStore.getData("namespace", "unknown")).isNull();
+    assertThat(sharedDataStore.getNamespaceData("namespace")).containsOnly(
+        Map.entry("key1", "value2"), Map.entry("key2", Map.of("nested", 1)));
+    assertThat(sharedDataEntryRepository.findByNamespaceAndKey("namespace", "key1"))
+        .hasValueSatisfying(entry -> assertThat(entry.getVersion()).isEqualTo(1L));
+  }
+
+  @Test
+  void readKey_cachedUntilWritten() {
+    CaffeineCache cache = (CaffeineCache) cacheManager.getCache(DefaultSharedDataStore.SHARED_DATA);
+    long hits = cache.getNativeCache().stats().hitCount();
+    sharedDataStore.putNamespaceData("namespace", "key", "value1");
+    assertThat(sharedDataStore.getData("namespace", "key")).isEqualTo("value1");
+
+    // changed behind the store's back, the cached value is still read
+    SharedDataEntry entry = sharedDataEntryRepository.findByNamespaceAndKey("namespace", "key").orElseThrow();
+    entry.setValue("changed");
+    sharedDataEntryRepository.save(entry);
+    assertThat(sharedDataStore.getData("namespace", "key")).isEqualTo("value1");
+    assertThat(cache.getNativeCache().stats().hitCount()).isEqualTo(hits + 1);
+
+    sharedDataStore.putNamespaceData("namespace", "key", "value2");
+    assertThat(sharedDataStore.getData("namespace", "key")).isEqualTo("value2");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void readKey_cachedValueNotModified() {
+    sharedDataStore.putNamespaceData("namespace", "key", Map.of("nested", List.of(1)));
+
+    Map<String, Object> read = (Map<String, Object>) sharedDataStore.getData("namespace", "key");
+    read.put("other", 2);
+    ((List<Object>) read.get("nested")).add(3);
+
+    assertThat(sharedDataStore.getData("namespace", "key")).isEqualTo(Map.of("nested", List.of(1)));
+  }
+
+  @Test
+  void increment_concurrent() throws Exception {
+    int threads = 4;
+    int incrementsPerThread = 25;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit((Callable<Object>) () -> {
+          for (int j = 0; j < incrementsPerThread; j++) {
+            sharedDataStore.increment("namespace", "counter", 1);
+          }
+          return null;
+        }));
+      }
+      for (Future<Object> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(sharedDataStore.getData("namespace", "counter")).isEqualTo(threads * incrementsPerThread);
+    assertThat(sharedDataStore.increment("namespace", "counter", -100)).isZero();
+  }
+
+  @Test
+  void increment_notANumber() {
+    sharedDataStore.putNamespaceData("namespace", "key", "value");
+    assertThatThrownBy(() -> sharedDataStore.increment("namespace", "key", 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void increment_decimal() {
+    sharedDataStore.putNamespaceData("namespace", "key", 1.5);
+    assertThatThrownBy(() -> sharedDataStore.increment("namespace", "key", 1))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    sharedDataStore.putNamespaceData("namespace", "key", 2.0);
+    assertThat(sharedDataStore.increment("namespace", "key", 1)).isEqualTo(3);
+  }
+
+  @Test
+  void compareAndSet() {
+    assertThat(sharedDataStore.compareAndSet("namespace", "key", "other", "value1")).isFalse();
+    assertThat(sharedDataStore.compareAndSet("namespace", "key", null, "value1")).isTrue();
+    assertThat(sharedDataStore.compareAndSet("namespace", "key", "other", "value2")).isFalse();
+    assertThat(sharedDataStore.getData("namespace", "key")).isEqualTo("value1");
+
+    sharedDataStore.putNamespaceData("namespace", "number", 1L);
+    // read back as an integer, compared by value
+    assertThat(sharedDataStore.compareAndSet("namespace", "number", 1L, 2)).isTrue();
+    assertThat(sharedDataStore.getData("namespace", "number")).isEqualTo(2);
+  }
+
+  @Test
+  void putIfAbsent() {
+    assertThat(sharedDataStore.putIfAbsent("namespace", "key", "value1")).isNull();
+    assertThat(sharedDataStore.putIfAbsent("namespace", "key", "value2")).isEqualTo("value1");
+    assertThat(sharedDataStore.getData("namespace", "key")).isEqualTo("value1");
+  }
+
+  @Test
+  void migrateLegacySharedData() {
+    SharedData legacy = new SharedData().namespace("legacy");
+    legacy.getProperties().put("counter", 3);
+    legacy.getProperties().put("name", "old");
+    legacySharedDataRepository.save(legacy);
+    sharedDataStore.putNamespaceData("legacy", "name", "new");
+
+    sharedDataMigration.migrate();
+
+    assertThat(sharedDataStore.getNamespaceData("legacy")).containsOnly(
+        Map.entry("counter", 3), Map.entry("name", "new"));
+    assertThat(legacySharedDataRepository.findAll()).isEmpty();
+    assertThat(sharedDataEntryRepository.findAll()).extracting(SharedDataEntry::getNamespace).containsOnly("legacy");
   }
 
 }
@@ -2,7 +2,10 @@ package com.symphony.bdk.workflow;
 
 import com.symphony.bdk.workflow.engine.ResourceProvider;
 
+import org.apache.commons.io.FileUtils;
+
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 
@@ -28,4 +31,12 @@ public class TestResourcesProvider implements ResourceProvider {
   public Path saveResource(Path relativePath, byte[] content) {
     return Path.of(resourcesFolder).resolve(relativePath);
   }
+
+  @Override
+  public Path saveResource(Path relativePath, InputStream content) throws IOException {
+    // streamed resources can be read back by executors so they are actually written
+    Path path = Path.of(resourcesFolder).resolve(relativePath);
+    FileUtils.copyInputStreamToFile(content, path.toFile());
+    return path;
+  }
 }
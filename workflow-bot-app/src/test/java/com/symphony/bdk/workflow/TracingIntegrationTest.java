@@ -0,0 +1,57 @@
+package com.symphony.bdk.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.symphony.bdk.core.service.message.model.Message;
+import com.symphony.bdk.workflow.engine.camunda.CamundaExecutor;
+import com.symphony.bdk.workflow.engine.executor.ActivityExecutorContext;
+import com.symphony.bdk.workflow.engine.executor.EventHolder;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.TimeUnit;
+
+class TracingIntegrationTest extends IntegrationTest {
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Test
+  void eventTraced() throws Exception {
+    Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream("/tracing/tracing.swadl.yaml"));
+    when(messageService.send(anyString(), any(Message.class))).thenReturn(message("msgId"));
+
+    engine.deploy(workflow);
+    engine.onEvent(messageReceived("/tracing"));
+
+    verify(messageService, timeout(5000)).send(anyString(), any(Message.class));
+    await().atMost(5, TimeUnit.SECONDS).until(() ->
+        runtimeService.createProcessInstanceQuery().processDefinitionKey(workflow.getId()).count() == 0);
+
+    // the trace context of the event's dispatch is carried by the event variable
+    EventHolder<?> event = (EventHolder<?>) historyService.createHistoricVariableInstanceQuery()
+        .processDefinitionId(repositoryService.createProcessDefinitionQuery().processDefinitionKey("tracing")
+            .latestVersion().singleResult().getId())
+        .variableName(ActivityExecutorContext.EVENT)
+        .singleResult()
+        .getValue();
+    assertThat(event.getTraceparent()).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01");
+    assertThat(event.getTimestamp()).isNotNull();
+
+    assertThat(meterRegistry.get(CamundaExecutor.EVENT_LATENCY_TIMER).tag("workflow", "tracing").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get(CamundaExecutor.JOB_ACQUISITION_TIMER).tag("workflow", "tracing").timer().count())
+        .isEqualTo(1);
+  }
+
+}
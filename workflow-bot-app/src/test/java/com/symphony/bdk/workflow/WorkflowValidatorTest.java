@@ -5,12 +5,11 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.exception.NotFoundException;
 import com.symphony.bdk.workflow.swadl.exception.InvalidActivityException;
-import com.symphony.bdk.workflow.swadl.v1.Activity;
 import com.symphony.bdk.workflow.swadl.v1.Event;
 import com.symphony.bdk.workflow.swadl.v1.EventWithTimeout;
-import com.symphony.bdk.workflow.swadl.v1.Workflow;
 import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
 import com.symphony.bdk.workflow.swadl.v1.activity.connection.AcceptConnection;
 import com.symphony.bdk.workflow.swadl.v1.event.ActivityCompletedEvent;
@@ -21,7 +20,6 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
-import java.util.Collections;
 import java.util.stream.Stream;
 
 class WorkflowValidatorTest {
@@ -56,15 +54,20 @@ class WorkflowValidatorTest {
 
   @Test
   void validateActivityCompletedNodeId() {
-    Workflow workflow = new Workflow();
     AcceptConnection accept = new AcceptConnection();
     accept.setId("accept");
-    Activity activity = new Activity();
-    activity.setImplementation(accept);
-    workflow.setActivities(Collections.singletonList(activity));
+    WorkflowDirectedGraph graph = new WorkflowDirectedGraph("workflowId");
+    graph.registerToDictionary("accept", new WorkflowNode().id("accept").activity(accept));
+    graph.registerToDictionary("timeout", new WorkflowNode().id("timeout"));
     Assertions.assertThatThrownBy(
-        () -> WorkflowValidator.validateActivityCompletedNodeId("unknownId", "activity", workflow)).isInstanceOf(
-        NotFoundException.class);
+        () -> WorkflowValidator.validateActivityCompletedNodeId("unknownId", "activity", "workflowId", graph))
+        .isInstanceOf(NotFoundException.class);
+    Assertions.assertThatThrownBy(
+        () -> WorkflowValidator.validateActivityCompletedNodeId("timeout", "activity", "workflowId", graph))
+        .isInstanceOf(NotFoundException.class);
+    Assertions.assertThatCode(
+        () -> WorkflowValidator.validateActivityCompletedNodeId("accept", "activity", "workflowId", graph))
+        .doesNotThrowAnyException();
   }
 
   @Test
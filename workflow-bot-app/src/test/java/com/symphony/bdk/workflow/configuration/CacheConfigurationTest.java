@@ -0,0 +1,100 @@
+package com.symphony.bdk.workflow.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.shared.DefaultSharedDataStore;
+import com.symphony.bdk.workflow.versioning.repository.VersionedWorkflowRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CacheConfigurationTest {
+
+  private final CacheManager cacheManager = new CacheConfiguration()
+      .cacheManager(Optional.of(mock(VersionedWorkflowRepository.class)), 10, "PT1H", 5, "PT1M", 20, "PT10S");
+
+  @Test
+  void directedGraphCachesAreBounded() {
+    Cache<Object, Object> activeGraphs = nativeCache(WorkflowDirectedGraphService.ACTIVE_WORKFLOW_DIRECTED_GRAPH);
+    assertThat(activeGraphs.policy().eviction().orElseThrow().getMaximum()).isEqualTo(10);
+    assertThat(activeGraphs.policy().expireAfterAccess().orElseThrow().getExpiresAfter())
+        .isEqualTo(Duration.ofHours(1));
+
+    Cache<Object, Object> graphs = nativeCache(WorkflowDirectedGraphService.WORKFLOW_DIRECTED_GRAPH);
+    assertThat(graphs.policy().eviction().orElseThrow().getMaximum()).isEqualTo(5);
+    assertThat(graphs.policy().expireAfterAccess().orElseThrow().getExpiresAfter())
+        .isEqualTo(Duration.ofMinutes(1));
+  }
+
+  @Test
+  void activeDirectedGraphCacheNotEvicted_noRepository() {
+    CacheManager withoutRepository =
+        new CacheConfiguration().cacheManager(Optional.empty(), 10, "PT1H", 5, "PT1M", 20, "");
+
+    Cache<Object, Object> activeGraphs = ((CaffeineCache) withoutRepository
+        .getCache(WorkflowDirectedGraphService.ACTIVE_WORKFLOW_DIRECTED_GRAPH)).getNativeCache();
+    assertThat(activeGraphs.policy().eviction()).isEmpty();
+    assertThat(activeGraphs.policy().expireAfterAccess()).isEmpty();
+  }
+
+  @Test
+  void sharedDataCacheExpiresAfterWrite() {
+    Cache<Object, Object> sharedData = nativeCache(DefaultSharedDataStore.SHARED_DATA);
+    assertThat(sharedData.policy().eviction().orElseThrow().getMaximum()).isEqualTo(20);
+    assertThat(sharedData.policy().expireAfterWrite().orElseThrow().getExpiresAfter())
+        .isEqualTo(Duration.ofSeconds(10));
+
+    CacheManager withoutExpiry = new CacheConfiguration()
+        .cacheManager(Optional.of(mock(VersionedWorkflowRepository.class)), 10, "PT1H", 5, "PT1M", 20, "");
+    assertThat(((CaffeineCache) withoutExpiry.getCache(DefaultSharedDataStore.SHARED_DATA)).getNativeCache()
+        .policy().expireAfterWrite()).isEmpty();
+  }
+
+  @Test
+  void concurrentMissesLoadOnce() throws Exception {
+    org.springframework.cache.Cache cache =
+        cacheManager.getCache(WorkflowDirectedGraphService.ACTIVE_WORKFLOW_DIRECTED_GRAPH);
+    assertThat(cache).isNotNull();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<?>[] futures = new Future[4];
+      for (int i = 0; i < futures.length; i++) {
+        futures[i] = executor.submit(() -> {
+          start.await();
+          return cache.get("workflow", () -> {
+            loads.incrementAndGet();
+            Thread.sleep(100);
+            return "graph";
+          });
+        });
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("graph");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(loads).hasValue(1);
+  }
+
+  private Cache<Object, Object> nativeCache(String name) {
+    return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+  }
+
+}
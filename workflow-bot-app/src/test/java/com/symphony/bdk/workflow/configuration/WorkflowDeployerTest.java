@@ -11,22 +11,22 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
 import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
-import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
+import java.util.List;
+import java.util.Map;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("checkstyle:VariableDeclarationUsageDistance")
@@ -34,23 +34,53 @@ public class WorkflowDeployerTest {
 
   @Mock
   WorkflowEngine<CamundaTranslatedWorkflowContext> workflowEngine;
-  @Mock
-  WorkflowDirectedGraphService directedGraphService;
 
-  @InjectMocks
   WorkflowDeployer workflowDeployer;
 
+  @BeforeEach
+  void setUp() {
+    workflowDeployer = new WorkflowDeployer(workflowEngine, 2, 50);
+  }
+
   @Test
   void testAddAllWorkflowsFromFolder() {
     CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
     String swadlFolderPath = "src/test/resources/basic/publish/";
-    String deploymentId = "ABC";
 
+    when(workflowEngine.isDeployed(any(Workflow.class))).thenReturn(false);
     when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
-    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
+    when(workflowEngine.deployAll(List.of(context))).thenReturn(Map.of("basic-workflow", "ABC"));
+
+    workflowDeployer.addAllWorkflowsFromFolder(Path.of(swadlFolderPath));
+    verify(workflowEngine).deployAll(List.of(context));
+  }
+
+  @Test
+  void testAddAllWorkflowsFromFolder_unchanged() {
+    String swadlFolderPath = "src/test/resources/basic/publish/";
+
+    when(workflowEngine.isDeployed(any(Workflow.class))).thenReturn(true);
+    when(workflowEngine.deploy(any(Workflow.class))).thenReturn("ABC");
 
     workflowDeployer.addAllWorkflowsFromFolder(Path.of(swadlFolderPath));
-    verify(workflowEngine).deploy(any(CamundaTranslatedWorkflowContext.class));
+    verify(workflowEngine, never()).translate(any(Workflow.class));
+    verify(workflowEngine, never()).deployAll(any());
+  }
+
+  @Test
+  void testHandleFileChanges() {
+    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
+    Path workflowFile = Path.of("src/test/resources/basic/publish/basic-workflow.swadl.yaml");
+
+    when(workflowEngine.isDeployed(any(Workflow.class))).thenReturn(false);
+    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
+    when(workflowEngine.deployAll(List.of(context))).thenReturn(Map.of("basic-workflow", "ABC"));
+
+    workflowDeployer.handleFileChanges(Map.of(workflowFile, StandardWatchEventKinds.ENTRY_MODIFY));
+    verify(workflowEngine).deployAll(List.of(context));
+
+    workflowDeployer.handleFileChanges(Map.of(workflowFile, StandardWatchEventKinds.ENTRY_DELETE));
+    verify(workflowEngine).undeployByWorkflowId(eq("basic-workflow"));
   }
 
   @Test
@@ -68,14 +98,11 @@ public class WorkflowDeployerTest {
     String workflowId = "basic-workflow";
     String deploymentId = "ABC";
 
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
-    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
-    when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
+    when(workflowEngine.deploy(any(Workflow.class))).thenReturn(deploymentId);
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_CREATE));
 
-    verify(workflowEngine).deploy(eq(context));
+    verify(workflowEngine).deploy(any(Workflow.class));
     verify(workflowEngine, never()).undeployByWorkflowId(eq(workflowId));
   }
 
@@ -86,7 +113,8 @@ public class WorkflowDeployerTest {
     when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_MODIFY));
-    verify(workflowEngine, never()).deploy(any(CamundaTranslatedWorkflowContext.class));
+    verify(workflowEngine).translate(any(Workflow.class));
+    verify(workflowEngine, never()).deploy(any(Workflow.class));
   }
 
   @Test
@@ -94,27 +122,21 @@ public class WorkflowDeployerTest {
     final String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     final String deploymentId = "ABC";
 
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
-    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
-    when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
+    when(workflowEngine.deploy(any(Workflow.class))).thenReturn(deploymentId);
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_CREATE));
-    verify(workflowEngine).deploy(any(CamundaTranslatedWorkflowContext.class));
+    verify(workflowEngine).deploy(any(Workflow.class));
   }
 
   @Test
   void testHandleFileEventModify() throws IOException, ProcessingException {
     final String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     final String deploymentId = "ABC";
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
-    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
-    when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
+    when(workflowEngine.deploy(any(Workflow.class))).thenReturn(deploymentId);
 
     workflowDeployer.handleFileEvent(Path.of(workflowFile), new WatchEvent(StandardWatchEventKinds.ENTRY_MODIFY));
 
-    verify(workflowEngine).deploy(any(CamundaTranslatedWorkflowContext.class));
+    verify(workflowEngine).deploy(any(Workflow.class));
   }
 
   @Test
@@ -122,16 +144,13 @@ public class WorkflowDeployerTest {
     String workflowFile = "src/test/resources/basic/publish/basic-workflow.swadl.yaml";
     Path path = Path.of(workflowFile);
     final String deploymentId = "ABC";
-    CamundaTranslatedWorkflowContext context = mock(CamundaTranslatedWorkflowContext.class);
-    when(workflowEngine.translate(any(Workflow.class))).thenReturn(context);
-    when(workflowEngine.deploy(any(CamundaTranslatedWorkflowContext.class))).thenReturn(deploymentId);
+    when(workflowEngine.deploy(any(Workflow.class))).thenReturn(deploymentId);
     doNothing().when(workflowEngine).undeployByWorkflowId(eq("basic-workflow"));
-    when(directedGraphService.putDirectedGraph(any())).thenReturn(mock(WorkflowDirectedGraph.class));
     workflowDeployer.addWorkflow(path);
     clearInvocations(workflowEngine);
     workflowDeployer.handleFileEvent(path, new WatchEvent(StandardWatchEventKinds.ENTRY_DELETE));
 
-    verify(workflowEngine, never()).deploy(any(CamundaTranslatedWorkflowContext.class));
+    verify(workflowEngine, never()).deploy(any(Workflow.class));
     verify(workflowEngine).undeployByWorkflowId(eq("basic-workflow"));
   }
 
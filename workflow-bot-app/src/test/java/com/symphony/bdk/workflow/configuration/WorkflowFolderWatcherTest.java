@@ -1,13 +1,14 @@
 package com.symphony.bdk.workflow.configuration;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.symphony.bdk.workflow.engine.WorkflowEngine;
-import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
 import com.symphony.bdk.workflow.swadl.v1.Workflow;
 
 import org.apache.commons.io.FileUtils;
@@ -20,37 +21,40 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Map;
 
 @Disabled("Slow to run on Mac")
 class WorkflowFolderWatcherTest {
 
   @TempDir
   File workflowsFolder;
-  private WorkflowEngine engine;
+  private WorkflowEngine<CamundaTranslatedWorkflowContext> engine;
 
   private WorkflowDeployer workflowDeployer;
   private WorkflowBotConfiguration workflowBotConfiguration;
 
-  private WorkflowDirectedGraphService directedGraphService;
-
   @BeforeEach
+  @SuppressWarnings("unchecked")
   void setUp() {
     engine = mock(WorkflowEngine.class);
+    // changed files are translated then deployed in a batch
+    when(engine.isDeployed(any(Workflow.class))).thenReturn(false);
+    when(engine.translate(any(Workflow.class))).thenReturn(mock(CamundaTranslatedWorkflowContext.class));
+    when(engine.deployAll(anyList())).thenReturn(Map.of("send-message-workflow", "deploymentId"));
     workflowBotConfiguration = mock(WorkflowBotConfiguration.class);
-    directedGraphService = mock(WorkflowDirectedGraphService.class);
-    workflowDeployer = new WorkflowDeployer(engine, directedGraphService);
+    workflowDeployer = new WorkflowDeployer(engine, 1, 50);
 
     when(workflowBotConfiguration.getWorkflowsFolderPath()).thenReturn(workflowsFolder.getPath());
   }
 
   @Test
   void workflowAlreadyInFolder() throws IOException, InterruptedException {
-    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration);
+    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration, 100);
 
     copyWorkflow();
     final Thread watcherThread = startWatcherThread(watcher);
 
-    verify(engine, timeout(5_000)).deploy(any(Workflow.class));
+    verify(engine, timeout(5_000)).deployAll(anyList());
 
     watcher.stopMonitoring();
     watcherThread.join();
@@ -58,13 +62,13 @@ class WorkflowFolderWatcherTest {
 
   @Test
   void workflowAddedInFolder() throws IOException, InterruptedException {
-    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration);
+    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration, 100);
 
     final Thread watcherThread = startWatcherThread(watcher);
     Thread.sleep(1_000); // just a small wait to (try) to make sure the folder is watched before copying file
     copyWorkflow();
 
-    verify(engine, timeout(10_000)).deploy(any(Workflow.class));
+    verify(engine, timeout(10_000)).deployAll(anyList());
 
     watcher.stopMonitoring();
     watcherThread.join();
@@ -72,12 +76,12 @@ class WorkflowFolderWatcherTest {
 
   @Test
   void workflowRemovedFromFolder() throws IOException, InterruptedException {
-    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration);
+    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration, 100);
 
     copyWorkflow();
     final Thread watcherThread = startWatcherThread(watcher);
     Thread.sleep(1_000); // just a small wait to (try) to make sure the folder is watched before copying file
-    verify(engine, timeout(5_000)).deploy(any(Workflow.class));
+    verify(engine, timeout(5_000)).deployAll(anyList());
 
     FileUtils.forceDelete(new File(workflowsFolder, "workflow.swadl.yaml"));
     verify(engine, timeout(10_000)).undeployByWorkflowId(any());
@@ -88,16 +92,16 @@ class WorkflowFolderWatcherTest {
 
   @Test
   void workflowModifiedInFolder() throws IOException, InterruptedException {
-    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration);
+    WorkflowFolderWatcher watcher = new WorkflowFolderWatcher(workflowDeployer, workflowBotConfiguration, 100);
 
     copyWorkflow();
     final Thread watcherThread = startWatcherThread(watcher);
     Thread.sleep(1_000); // just a small wait to (try) to make sure the folder is watched before copying file
-    verify(engine, timeout(5_000)).deploy(any(Workflow.class));
+    verify(engine, timeout(5_000)).deployAll(anyList());
 
     copyWorkflow();
     Thread.sleep(1_000); // just a small wait to (try) to make sure the folder is watched before copying file
-    verify(engine, timeout(10_000).times(2)).deploy(any(Workflow.class));
+    verify(engine, timeout(10_000).times(2)).deployAll(anyList());
 
     watcher.stopMonitoring();
     watcherThread.join();
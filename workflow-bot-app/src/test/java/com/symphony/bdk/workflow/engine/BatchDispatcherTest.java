@@ -0,0 +1,45 @@
+package com.symphony.bdk.workflow.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class BatchDispatcherTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final Counter dropped = meterRegistry.counter("dropped");
+
+  @Test
+  void close_queuedItemsProcessed() throws InterruptedException {
+    List<Integer> processed = new CopyOnWriteArrayList<>();
+    BatchDispatcher<Integer> dispatcher =
+        new BatchDispatcher<>("test", 10, 2, processed::addAll, meterRegistry, "queued", dropped);
+
+    dispatcher.offer(1);
+    dispatcher.put(2);
+    dispatcher.offer(3);
+    dispatcher.close();
+
+    assertThat(processed).containsExactly(1, 2, 3);
+    assertThat(dropped.count()).isZero();
+    assertThat(meterRegistry.get("queued").gauge().value()).isZero();
+  }
+
+  @Test
+  void handlerFailed_batchDropped() throws InterruptedException {
+    BatchDispatcher<Integer> dispatcher = new BatchDispatcher<>("test", 10, 10, batch -> {
+      throw new IllegalStateException("failed");
+    }, meterRegistry, "queued", dropped);
+
+    dispatcher.offer(1);
+    dispatcher.close();
+
+    assertThat(dropped.count()).isEqualTo(1);
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.symphony.bdk.workflow.engine;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.symphony.bdk.core.service.session.SessionService;
+import com.symphony.bdk.gen.api.model.UserV2;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap retained by cached directed graphs of large workflows, with and without the compact form.
+ */
+@Slf4j
+@Disabled("Benchmark, to be run manually")
+class CompactWorkflowDirectedGraphBenchmark {
+
+  private static final int WORKFLOWS = 50;
+  private static final int ACTIVITIES_PER_WORKFLOW = 500;
+
+  @Test
+  void retainedMemory() throws Exception {
+    SessionService sessionService = mock(SessionService.class);
+    when(sessionService.getSession()).thenReturn(new UserV2().displayName("bot"));
+
+    List<Workflow> workflows = new ArrayList<>();
+    for (int i = 0; i < WORKFLOWS; i++) {
+      workflows.add(SwadlParser.fromYaml(largeWorkflow(i)));
+    }
+
+    long baseline = usedMemory();
+    List<WorkflowDirectedGraph> graphs = new ArrayList<>();
+    for (Workflow workflow : workflows) {
+      graphs.add(new WorkflowDirectGraphBuilder(workflow, sessionService).build());
+    }
+    long graphsMemory = usedMemory() - baseline;
+
+    List<CompactWorkflowDirectedGraph> compactGraphs = new ArrayList<>();
+    for (WorkflowDirectedGraph graph : graphs) {
+      compactGraphs.add(CompactWorkflowDirectedGraph.of(graph));
+    }
+    long compactGraphsMemory = usedMemory() - baseline - graphsMemory;
+
+    // the activities are referenced by the parsed workflows, only the graph structures are measured here
+    log.info("{} graphs of {} nodes: {} KB as directed graphs, {} KB as compact graphs", graphs.size(),
+        compactGraphs.get(0).size(), graphsMemory / 1024, compactGraphsMemory / 1024);
+  }
+
+  private static long usedMemory() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static String largeWorkflow(int index) {
+    StringBuilder swadl = new StringBuilder()
+        .append("id: large-workflow-").append(index).append('\n')
+        .append("activities:\n")
+        .append("  - send-message:\n")
+        .append("      id: activity0\n")
+        .append("      on:\n")
+        .append("        message-received:\n")
+        .append("          content: /large-").append(index).append('\n')
+        .append("      content: start\n");
+    for (int i = 1; i < ACTIVITIES_PER_WORKFLOW; i++) {
+      swadl.append("  - send-message:\n")
+          .append("      id: activity").append(i).append('\n')
+          .append("      content: Message ").append(i).append('\n');
+    }
+    return swadl.toString();
+  }
+
+}
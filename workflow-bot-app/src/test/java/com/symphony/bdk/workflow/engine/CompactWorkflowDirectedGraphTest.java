@@ -0,0 +1,120 @@
+package com.symphony.bdk.workflow.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.symphony.bdk.core.service.session.SessionService;
+import com.symphony.bdk.gen.api.model.UserV2;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+class CompactWorkflowDirectedGraphTest {
+
+  @Mock
+  SessionService sessionService;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/graph/approval.swadl.yaml", "/graph/groups.swadl.yaml",
+      "/graph/connection-admin-approval.swadl.yaml", "/graph/all-of.swadl.yaml", "/graph/form-reply-all-of.swadl.yaml",
+      "/graph/poll-bot.swadl.yaml"})
+  void sameAsDirectedGraph(String swadl) throws Exception {
+    when(sessionService.getSession()).thenReturn(new UserV2().displayName("bot"));
+    Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream(swadl));
+    WorkflowDirectedGraph graph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
+
+    assertSameGraph(CompactWorkflowDirectedGraph.of(graph), graph);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/graph/approval.swadl.yaml", "/graph/connection-admin-approval.swadl.yaml",
+      "/graph/all-of.swadl.yaml", "/graph/form-reply-all-of.swadl.yaml"})
+  void serialized(String swadl) throws Exception {
+    when(sessionService.getSession()).thenReturn(new UserV2().displayName("bot"));
+    Workflow workflow = SwadlParser.fromYaml(getClass().getResourceAsStream(swadl));
+    workflow.setVersion(1234L);
+    WorkflowDirectedGraph graph = new WorkflowDirectGraphBuilder(workflow, sessionService).build();
+
+    byte[] data = CompactWorkflowDirectedGraph.of(graph).toBytes();
+
+    assertSameGraph(CompactWorkflowDirectedGraph.fromBytes(data), graph);
+  }
+
+  @Test
+  void serialized_longCondition() throws Exception {
+    String condition = "${" + "a".repeat(70_000) + "}";
+    WorkflowDirectedGraph graph = new WorkflowDirectedGraph("workflow");
+    graph.registerToDictionary("start", new WorkflowNode().id("start").eventId("start"));
+    graph.registerToDictionary("next", new WorkflowNode().id("next").addIfCondition("start", condition));
+    graph.getChildren("start").addChild("next");
+    graph.addParent("next", "start");
+
+    byte[] data = CompactWorkflowDirectedGraph.of(graph).toBytes();
+
+    assertThat(CompactWorkflowDirectedGraph.fromBytes(data).getIfCondition("next", "start")).isEqualTo(condition);
+  }
+
+  @Test
+  void serialized_otherFormat() {
+    byte[] data = new byte[] {0, 0, 0, 0};
+
+    assertThatThrownBy(() -> CompactWorkflowDirectedGraph.fromBytes(data)).isInstanceOf(IOException.class);
+  }
+
+  private static void assertSameGraph(CompactWorkflowDirectedGraph compact, WorkflowDirectedGraph graph) {
+    assertThat(compact.getWorkflowId()).isEqualTo(graph.getWorkflowId());
+    assertThat(compact.getVersion()).isEqualTo(graph.getVersion());
+    assertThat(compact.getVariables()).isEqualTo(graph.getVariables());
+    assertThat(compact.getStartEvents()).isEqualTo(graph.getStartEvents());
+    assertThat(compact.getNodeIds()).containsExactlyElementsOf(graph.getDictionary().keySet());
+
+    for (Map.Entry<String, WorkflowNode> entry : graph.getDictionary().entrySet()) {
+      String id = entry.getKey();
+      WorkflowNode node = entry.getValue();
+      assertThat(compact.isRegistered(id)).isTrue();
+      assertThat(compact.getWrappedType(id)).isEqualTo(node.getWrappedType());
+      assertThat(compact.getElementType(id)).isEqualTo(node.getElementType());
+      assertThat(compact.getEventId(id)).isEqualTo(node.getEventId());
+      assertThat(compact.getParents(id)).containsExactlyInAnyOrderElementsOf(graph.getParents(id));
+      node.getIfConditions().forEach((parent, condition) ->
+          assertThat(compact.getIfCondition(id, parent)).isEqualTo(condition));
+
+      WorkflowDirectedGraph.NodeChildren children = graph.readChildren(id);
+      if (children == null) {
+        assertThat(compact.getChildren(id)).isEmpty();
+        assertThat(compact.getGateway(id)).isNull();
+      } else {
+        assertThat(compact.getChildren(id)).isEqualTo(children.getChildren());
+        assertThat(compact.getGateway(id)).isEqualTo(children.getGateway());
+      }
+    }
+  }
+
+  @Test
+  void unknownNode() {
+    WorkflowDirectedGraph graph = new WorkflowDirectedGraph("workflow");
+    graph.registerToDictionary("start", new WorkflowNode().id("start").eventId("start"));
+    graph.getChildren("start").addChild("unknown");
+
+    CompactWorkflowDirectedGraph compact = CompactWorkflowDirectedGraph.of(graph);
+
+    assertThat(compact.size()).isEqualTo(1);
+    assertThat(compact.getChildren("start")).containsExactly("unknown");
+    assertThat(compact.isRegistered("unknown")).isFalse();
+    assertThat(compact.getEventId("unknown")).isNull();
+    assertThat(compact.getChildren("missing")).isEmpty();
+    assertThat(compact.getIfCondition("start", "missing")).isNull();
+  }
+
+}
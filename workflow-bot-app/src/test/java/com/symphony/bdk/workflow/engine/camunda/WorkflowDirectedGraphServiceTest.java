@@ -3,7 +3,9 @@ package com.symphony.bdk.workflow.engine.camunda;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import com.symphony.bdk.workflow.IntegrationTest;
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
+import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.versioning.model.VersionedWorkflow;
 import com.symphony.bdk.workflow.versioning.repository.VersionedWorkflowRepository;
 
@@ -48,7 +50,7 @@ class WorkflowDirectedGraphServiceTest extends IntegrationTest {
     directedGraphService.getDirectedGraph("workflow");
     Cache cache = cacheManager.getCache(WorkflowDirectedGraphService.ACTIVE_WORKFLOW_DIRECTED_GRAPH);
     assertThat(cache).isNotNull();
-    WorkflowDirectedGraph directedGraph = cache.get("workflow", WorkflowDirectedGraph.class);
+    CompactWorkflowDirectedGraph directedGraph = cache.get("workflow", CompactWorkflowDirectedGraph.class);
     assertThat(directedGraph).isNotNull();
     cache.clear();
   }
@@ -66,7 +68,8 @@ class WorkflowDirectedGraphServiceTest extends IntegrationTest {
     directedGraphService.getDirectedGraph("workflow", version);
     Cache cache = cacheManager.getCache(WorkflowDirectedGraphService.WORKFLOW_DIRECTED_GRAPH);
     assertThat(cache).isNotNull();
-    WorkflowDirectedGraph directedGraph = cache.get(new SimpleKey("workflow", version), WorkflowDirectedGraph.class);
+    CompactWorkflowDirectedGraph directedGraph =
+        cache.get(new SimpleKey("workflow", version), CompactWorkflowDirectedGraph.class);
     assertThat(directedGraph).isNotNull();
     cache.clear();
   }
@@ -81,17 +84,41 @@ class WorkflowDirectedGraphServiceTest extends IntegrationTest {
     workflow.setPublished(true);
     workflow.setActive(true);
     repository.save(workflow);
-    WorkflowDirectedGraph graph = directedGraphService.getDirectedGraph("workflow");
+    CompactWorkflowDirectedGraph graph = directedGraphService.getDirectedGraph("workflow");
     assertThat(graph.getWorkflowId()).isEqualTo("workflow");
     assertThat(graph.getVersion()).isEqualTo(version);
 
     long newVersion = Instant.now().toEpochMilli();
     WorkflowDirectedGraph newGraph = new WorkflowDirectedGraph("workflow", newVersion);
-    directedGraphService.putDirectedGraph(newGraph);
+    directedGraphService.putDirectedGraph(CompactWorkflowDirectedGraph.of(newGraph));
     graph = directedGraphService.getDirectedGraph("workflow");
     assertThat(graph.getVersion()).isEqualTo(newVersion);
     Cache cache = cacheManager.getCache(WorkflowDirectedGraphService.ACTIVE_WORKFLOW_DIRECTED_GRAPH);
     assertThat(cache).isNotNull();
     cache.clear();
   }
+
+  @Test
+  void getDirectedGraph_stored() {
+    long version = Instant.now().toEpochMilli();
+    WorkflowDirectedGraph storedGraph = new WorkflowDirectedGraph("workflow", version);
+    storedGraph.registerToDictionary("stored", new WorkflowNode().id("stored"));
+
+    VersionedWorkflow workflow = new VersionedWorkflow();
+    workflow.setWorkflowId("workflow");
+    workflow.setVersion(version);
+    workflow.setSwadl(swadl);
+    workflow.setPublished(true);
+    workflow.setActive(true);
+    workflow.setDirectedGraph(CompactWorkflowDirectedGraph.of(storedGraph));
+    repository.save(workflow);
+
+    // read from the database instead of being built from the SWADL
+    CompactWorkflowDirectedGraph graph = directedGraphService.getDirectedGraph("workflow", version);
+    assertThat(graph.isRegistered("stored")).isTrue();
+    assertThat(graph.isRegistered("doIt")).isFalse();
+    Cache cache = cacheManager.getCache(WorkflowDirectedGraphService.WORKFLOW_DIRECTED_GRAPH);
+    assertThat(cache).isNotNull();
+    cache.clear();
+  }
 }
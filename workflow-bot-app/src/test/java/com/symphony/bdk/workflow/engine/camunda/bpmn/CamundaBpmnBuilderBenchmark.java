@@ -0,0 +1,51 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import com.sun.management.ThreadMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Translation time and allocated memory of synthetic workflows of increasing size.
+ */
+@Slf4j
+@Disabled("Benchmark, to be run manually")
+class CamundaBpmnBuilderBenchmark {
+
+  private static final int[] ACTIVITIES = {10, 100, 1_000, 5_000};
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int ITERATIONS = 5;
+
+  @Test
+  void translateSyntheticWorkflows() throws Exception {
+    CamundaBpmnBuilder bpmnBuilder = CamundaBpmnBuilderTest.bpmnBuilder();
+    ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    for (int activities : ACTIVITIES) {
+      String swadl = CamundaBpmnBuilderTest.syntheticWorkflow("synthetic-" + activities, activities);
+      for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+        bpmnBuilder.translateWorkflow(SwadlParser.fromYaml(swadl));
+      }
+
+      long elapsed = 0;
+      long allocated = 0;
+      for (int i = 0; i < ITERATIONS; i++) {
+        Workflow workflow = SwadlParser.fromYaml(swadl);
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        bpmnBuilder.translateWorkflow(workflow);
+        elapsed += System.nanoTime() - start;
+        allocated += threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+      }
+      log.info("{} activities: translated in {} ms, {} KB allocated", activities,
+          elapsed / ITERATIONS / 1_000_000, allocated / ITERATIONS / 1024);
+    }
+  }
+
+}
@@ -0,0 +1,113 @@
+package com.symphony.bdk.workflow.engine.camunda.bpmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.symphony.bdk.core.service.session.SessionService;
+import com.symphony.bdk.gen.api.model.UserV2;
+import com.symphony.bdk.workflow.engine.camunda.CamundaTranslatedWorkflowContext;
+import com.symphony.bdk.workflow.engine.camunda.WorkflowDirectedGraphService;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.ActivityCompleteNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.ActivityExpiredNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.ActivityFailedNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.ActivityNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.FormRepliedNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.JoinActivityNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.SignalNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.TimerFiredNodeBuilder;
+import com.symphony.bdk.workflow.engine.camunda.bpmn.builder.WorkflowNodeBpmnBuilderFactory;
+import com.symphony.bdk.workflow.swadl.SwadlParser;
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.model.bpmn.instance.ExclusiveGateway;
+import org.camunda.bpm.model.bpmn.instance.ServiceTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CamundaBpmnBuilderTest {
+
+  private static final int ACTIVITIES = 3000;
+  private static final long SMALL_STACK_SIZE = 512 * 1024;
+
+  @Test
+  void translateWorkflow_largeWorkflowOnSmallStack() throws Exception {
+    Workflow workflow = SwadlParser.fromYaml(syntheticWorkflow("large-workflow", ACTIVITIES));
+    CamundaBpmnBuilder bpmnBuilder = bpmnBuilder();
+
+    AtomicReference<Object> result = new AtomicReference<>();
+    // the translation used to be recursive, one level per activity, and overflowed such a stack
+    Thread thread = new Thread(null, () -> {
+      try {
+        result.set(bpmnBuilder.translateWorkflow(workflow));
+      } catch (Throwable e) {
+        result.set(e);
+      }
+    }, "small-stack-translation", SMALL_STACK_SIZE);
+    thread.start();
+    thread.join();
+
+    assertThat(result.get()).isInstanceOf(CamundaTranslatedWorkflowContext.class);
+    CamundaTranslatedWorkflowContext context = (CamundaTranslatedWorkflowContext) result.get();
+    assertThat(context.getBpmnModelInstance().getModelElementsByType(ServiceTask.class)).hasSize(ACTIVITIES);
+    assertThat(context.getBpmnModelInstance().getModelElementsByType(ExclusiveGateway.class)).isNotEmpty();
+  }
+
+  static CamundaBpmnBuilder bpmnBuilder() {
+    SessionService sessionService = mock(SessionService.class);
+    when(sessionService.getSession()).thenReturn(new UserV2().displayName("bot"));
+    WorkflowNodeBpmnBuilderFactory builderFactory = new WorkflowNodeBpmnBuilderFactory(List.of(
+        new ActivityNodeBuilder(), new ActivityCompleteNodeBuilder(), new ActivityExpiredNodeBuilder(),
+        new ActivityFailedNodeBuilder(), new FormRepliedNodeBuilder(), new JoinActivityNodeBuilder(),
+        new SignalNodeBuilder(), new TimerFiredNodeBuilder()));
+    return new CamundaBpmnBuilder(mock(RepositoryService.class), builderFactory, sessionService,
+        mock(WorkflowDirectedGraphService.class));
+  }
+
+  /**
+   * Blocks of 4 activities: a sequential one, an if/else branching on its completion and a join of both branches.
+   * Every 10th block waits for a message first.
+   */
+  static String syntheticWorkflow(String id, int activities) {
+    StringBuilder swadl = new StringBuilder()
+        .append("id: ").append(id).append('\n')
+        .append("activities:\n");
+    for (int i = 0; i < activities; i++) {
+      int block = i / 4;
+      swadl.append("  - send-message:\n")
+          .append("      id: activity").append(i).append('\n');
+      switch (i % 4) {
+        case 0:
+          if (block % 10 == 0) {
+            swadl.append("      on:\n")
+                .append("        message-received:\n")
+                .append("          content: /").append(id).append('-').append(block).append('\n');
+          }
+          break;
+        case 1:
+          swadl.append("      if: ${").append(block).append(" % 2 == 0}\n");
+          break;
+        case 2:
+          swadl.append("      on:\n")
+              .append("        activity-completed:\n")
+              .append("          activity-id: activity").append(i - 2).append('\n')
+              .append("      else: {}\n");
+          break;
+        default:
+          swadl.append("      on:\n")
+              .append("        one-of:\n")
+              .append("          - activity-completed:\n")
+              .append("              activity-id: activity").append(i - 2).append('\n')
+              .append("          - activity-completed:\n")
+              .append("              activity-id: activity").append(i - 1).append('\n');
+          break;
+      }
+      swadl.append("      content: Message ").append(i).append('\n');
+    }
+    return swadl.toString();
+  }
+
+}
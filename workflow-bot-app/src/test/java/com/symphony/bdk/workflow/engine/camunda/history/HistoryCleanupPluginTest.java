@@ -0,0 +1,63 @@
+package com.symphony.bdk.workflow.engine.camunda.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.management.Metrics;
+import org.junit.jupiter.api.Test;
+
+class HistoryCleanupPluginTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void preInit_configuresCleanup() {
+    HistoryCleanupPlugin plugin = new HistoryCleanupPlugin(meterRegistry, "P30D", "22:00", "06:00", 100, 4);
+    ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+
+    plugin.preInit(configuration);
+
+    assertThat(configuration.getHistoryTimeToLive()).isEqualTo("P30D");
+    assertThat(configuration.getHistoryCleanupBatchWindowStartTime()).isEqualTo("22:00");
+    assertThat(configuration.getHistoryCleanupBatchWindowEndTime()).isEqualTo("06:00");
+    assertThat(configuration.getHistoryCleanupBatchSize()).isEqualTo(100);
+    assertThat(configuration.getHistoryCleanupDegreeOfParallelism()).isEqualTo(4);
+    assertThat(configuration.getCustomJobHandlers()).singleElement()
+        .isInstanceOf(HistoryCleanupPlugin.TimedHistoryCleanupJobHandler.class)
+        .extracting(handler -> handler.getType()).isEqualTo(HistoryCleanupJobHandler.TYPE);
+  }
+
+  @Test
+  void preInit_noRetention() {
+    HistoryCleanupPlugin plugin = new HistoryCleanupPlugin(meterRegistry, "", "", "", 500, 1);
+    ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+
+    plugin.preInit(configuration);
+
+    assertThat(configuration.getHistoryTimeToLive()).isNull();
+    assertThat(configuration.getHistoryCleanupBatchWindowStartTime()).isNull();
+  }
+
+  @Test
+  void removedRowsCounted() {
+    ProcessEngineConfigurationImpl configuration = mock(ProcessEngineConfigurationImpl.class);
+    when(configuration.getCommandExecutorTxRequired()).thenReturn(mock(CommandExecutor.class));
+    HistoryCleanupPlugin.RemovedRowsReporter reporter =
+        new HistoryCleanupPlugin.RemovedRowsReporter(configuration, meterRegistry);
+
+    reporter.reportValueAtOnce(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, 42);
+    reporter.reportValueAtOnce(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, 8);
+    reporter.reportValueAtOnce("activity-instance-start", 3);
+
+    assertThat(meterRegistry.get(HistoryCleanupPlugin.REMOVED_COUNTER).tag("type", "process-instances").counter()
+        .count()).isEqualTo(50);
+    assertThat(meterRegistry.find(HistoryCleanupPlugin.REMOVED_COUNTER).counters()).hasSize(1);
+  }
+
+}
@@ -0,0 +1,52 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
+import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.script.SimpleBindings;
+
+class CompiledScriptFactoryTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CompiledScriptFactory scriptFactory;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    scriptFactory = new CompiledScriptFactory(meterRegistry, 10);
+  }
+
+  @Test
+  void createScriptFromSource_compiledOnce() {
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "a + 1");
+    scriptFactory.createScriptFromSource("groovy", "a + 1");
+
+    assertThat(script).isInstanceOf(CompiledGroovyScript.class);
+    assertThat(meterRegistry.get("workflow.script.compilation").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void evaluate_usesBindings() {
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "a + 1");
+
+    SimpleBindings bindings = new SimpleBindings();
+    bindings.put("a", 1);
+    assertThat(script.execute(null, null, bindings)).isEqualTo(2);
+
+    bindings.put("a", 2);
+    assertThat(script.execute(null, null, bindings)).isEqualTo(3);
+  }
+
+  @Test
+  void createScriptFromSource_invalidScript_fallback() {
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "a +");
+
+    assertThat(script).isInstanceOf(SourceExecutableScript.class);
+  }
+
+}
@@ -0,0 +1,93 @@
+package com.symphony.bdk.workflow.engine.camunda.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.script.SimpleBindings;
+
+class ScriptBudgetEnforcerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CompiledScriptFactory scriptFactory;
+  private ScriptBudgetEnforcer enforcer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    scriptFactory = new CompiledScriptFactory(meterRegistry, 10);
+    enforcer = new ScriptBudgetEnforcer(meterRegistry, "PT1S", 0, false);
+  }
+
+  @AfterEach
+  void tearDown() {
+    enforcer.close();
+  }
+
+  @Test
+  void execute_withinBudget() throws Exception {
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "(1..10).sum { it }");
+
+    assertThat(enforcer.execute(null, () -> script.execute(null, null, new SimpleBindings()))).isEqualTo(55);
+    assertThat(meterRegistry.get("workflow.script.execution").tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void execute_infiniteLoop_timeout() {
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "while (true) {}");
+
+    assertThatThrownBy(() -> enforcer.execute(null, () -> script.execute(null, null, new SimpleBindings())))
+        .isInstanceOf(ScriptBudgetExceededException.class)
+        .hasMessageContaining("timeout");
+    assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    assertThat(meterRegistry.get("workflow.script.execution").tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void execute_blockingCall_timeout() {
+    ScriptBudgetEnforcer interruptingEnforcer = new ScriptBudgetEnforcer(meterRegistry, "PT1S", 0, true);
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "Thread.sleep(60000)");
+
+    try {
+      assertThatThrownBy(() -> interruptingEnforcer.execute(null,
+          () -> script.execute(null, null, new SimpleBindings())))
+          .isInstanceOf(ScriptBudgetExceededException.class)
+          .hasMessageContaining("timeout");
+      assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    } finally {
+      interruptingEnforcer.close();
+    }
+  }
+
+  @Test
+  void execute_blockingCall_notInterrupted_timeoutOnNextCall() {
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "Thread.sleep(1500); println 'done'");
+
+    assertThatThrownBy(() -> enforcer.execute(null, () -> script.execute(null, null, new SimpleBindings())))
+        .isInstanceOf(ScriptBudgetExceededException.class)
+        .hasMessageContaining("timeout")
+        .hasNoCause();
+  }
+
+  @Test
+  void execute_maxIterationsFromActivity() {
+    VariableScope scope = mock(VariableScope.class);
+    when(scope.getVariableLocal(ScriptBudget.MAX_ITERATIONS_VARIABLE)).thenReturn("100");
+    ExecutableScript script = scriptFactory.createScriptFromSource("groovy", "(1..1000).each { it * 2 }");
+
+    assertThatThrownBy(() -> enforcer.execute(scope, () -> script.execute(null, scope, new SimpleBindings())))
+        .isInstanceOf(ScriptBudgetExceededException.class)
+        .hasMessageContaining("100 iterations");
+  }
+
+}
@@ -0,0 +1,213 @@
+package com.symphony.bdk.workflow.engine.executor.request.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.symphony.bdk.workflow.tracing.Tracer;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+@WireMockTest
+class HttpClientTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private HttpClient httpClient;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    httpClient = new HttpClient(meterRegistry, new Tracer(meterRegistry, null, 0, 1),
+        10, 5, 1000, 1000, 1000, 1024 * 1024, 1024 * 1024, "", 1024 * 1024, "P1D");
+  }
+
+  @AfterEach
+  void tearDown() {
+    httpClient.close();
+  }
+
+  @Test
+  void execute_jsonObject(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withBody("{\"name\": \"john\"}")));
+
+    Response response = httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>());
+
+    assertThat(response.getCode()).isEqualTo(200);
+    assertThat(response.getContent()).isEqualTo(Map.of("name", "john"));
+    assertThat(meterRegistry.get("workflow.http.request").tag("host", "localhost").tag("status", "200").timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_traced_traceparentPropagated(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok()));
+    String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    Tracer.setCurrentTraceparent("00-" + traceId + "-00f067aa0ba902b7-01");
+    try {
+      httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>());
+    } finally {
+      Tracer.setCurrentTraceparent(null);
+    }
+
+    verify(getRequestedFor(urlEqualTo("/api"))
+        .withHeader("traceparent", matching("00-" + traceId + "-(?!00f067aa0ba902b7)[0-9a-f]{16}-01")));
+  }
+
+  @Test
+  void execute_jsonArray_keptAsString(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json").withBody("[1, 2]")));
+
+    Response response = httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>());
+
+    assertThat(response.getContent()).isEqualTo("[1, 2]");
+  }
+
+  @Test
+  void execute_invalidJson_keptAsString(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json").withBody("{\"name\":")));
+
+    Response response = httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>());
+
+    assertThat(response.getContent()).isEqualTo("{\"name\":");
+  }
+
+  @Test
+  void execute_largeJson_parsed(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    String value = "a".repeat(2 * 1024 * 1024);
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withBody("{\"name\": \"" + value + "\"}")));
+
+    Response response = httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>());
+
+    assertThat(response.getContent()).isEqualTo(Map.of("name", value));
+  }
+
+  @Test
+  void execute_largeInvalidJson_failed(WireMockRuntimeInfo wmRuntimeInfo) {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withBody("{\"name\": \"" + "a".repeat(2 * 1024 * 1024))));
+
+    assertThatThrownBy(
+        () -> httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>()))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void execute_text(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "text/plain").withBody("hello")));
+
+    Response response = httpClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>());
+
+    assertThat(response.getContent()).isEqualTo("hello");
+  }
+
+  @Test
+  void execute_cached(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withHeader("Cache-Control", "max-age=60")
+        .withBody("{\"name\": \"john\"}")));
+
+    String url = wmRuntimeInfo.getHttpBaseUrl() + "/api";
+    httpClient.execute("GET", url, null, new HashMap<>(), true);
+    Response response = httpClient.execute("GET", url, null, new HashMap<>(), true);
+
+    assertThat(response.getContent()).isEqualTo(Map.of("name", "john"));
+    verify(1, getRequestedFor(urlEqualTo("/api")));
+    assertThat(meterRegistry.get("workflow.http.cache").tag("status", "CACHE_HIT").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_cached_revalidated(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withHeader("Cache-Control", "no-cache")
+        .withHeader("ETag", "\"v1\"")
+        .withBody("{\"name\": \"john\"}")));
+    stubFor(get("/api").withHeader("If-None-Match", equalTo("\"v1\""))
+        .willReturn(aResponse().withStatus(304).withHeader("ETag", "\"v1\"")));
+
+    String url = wmRuntimeInfo.getHttpBaseUrl() + "/api";
+    httpClient.execute("GET", url, null, new HashMap<>(), true);
+    Response response = httpClient.execute("GET", url, null, new HashMap<>(), true);
+
+    assertThat(response.getCode()).isEqualTo(200);
+    assertThat(response.getContent()).isEqualTo(Map.of("name", "john"));
+    verify(1, getRequestedFor(urlEqualTo("/api")).withHeader("If-None-Match", equalTo("\"v1\"")));
+  }
+
+  @Test
+  void execute_cached_directoryBounded(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path directory) throws Exception {
+    String body = "a".repeat(5000);
+    stubFor(get("/first").willReturn(ok().withHeader("Cache-Control", "max-age=60").withBody(body)));
+    stubFor(get("/second").willReturn(ok().withHeader("Cache-Control", "max-age=60").withBody(body)));
+    // nothing fits in memory, a single response fits on disk
+    HttpClient boundedClient = new HttpClient(meterRegistry, new Tracer(meterRegistry, null, 0, 1),
+        10, 5, 1000, 1000, 1000, 1, 1024 * 1024, directory.toString(), 8000, "P1D");
+
+    try {
+      boundedClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/first", null, new HashMap<>(), true);
+      boundedClient.execute("GET", wmRuntimeInfo.getHttpBaseUrl() + "/second", null, new HashMap<>(), true);
+    } finally {
+      boundedClient.close();
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.count()).isEqualTo(1);
+    }
+    assertThat(meterRegistry.get("workflow.http.cache.directory.size").gauge().value()).isBetween(5000.0, 8000.0);
+  }
+
+  @Test
+  void executeAsync(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    stubFor(get("/api").willReturn(ok().withHeader("Content-Type", "application/json")
+        .withBody("{\"name\": \"john\"}")));
+
+    Response response = httpClient.executeAsync("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>())
+        .get(5, TimeUnit.SECONDS);
+
+    assertThat(response.getCode()).isEqualTo(200);
+    assertThat(response.getContent()).isEqualTo(Map.of("name", "john"));
+  }
+
+  @Test
+  void executeAsync_timeout_recordedAsCancelled(WireMockRuntimeInfo wmRuntimeInfo) {
+    stubFor(get("/api").willReturn(ok().withFixedDelay(2000)));
+
+    CompletableFuture<Response> response =
+        httpClient.executeAsync("GET", wmRuntimeInfo.getHttpBaseUrl() + "/api", null, new HashMap<>())
+            .orTimeout(100, TimeUnit.MILLISECONDS);
+
+    assertThatThrownBy(response::join).hasCauseInstanceOf(TimeoutException.class);
+    await().atMost(1, TimeUnit.SECONDS).untilAsserted(() ->
+        assertThat(meterRegistry.get("workflow.http.request").tag("status", "CANCELLED").timer().count())
+            .isEqualTo(1));
+    assertThat(meterRegistry.get("workflow.http.request").timers()).hasSize(1);
+  }
+
+}
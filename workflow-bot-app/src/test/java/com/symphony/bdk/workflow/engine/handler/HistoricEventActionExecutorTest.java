@@ -1,41 +1,77 @@
 package com.symphony.bdk.workflow.engine.handler;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
-import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 public class HistoricEventActionExecutorTest {
 
   @Test
-  void testWorkflowEventVariableAction() {
-    final HistoricEventActionExecutor historicEventActionExecutor = new HistoricEventActionExecutor();
+  void testAuditTrailLogAction() throws InterruptedException {
+    final HistoricEventActionExecutor historicEventActionExecutor =
+        new HistoricEventActionExecutor(new SimpleMeterRegistry(), 0, 100, "block");
     final HistoryEvent historyEvent = new HistoryEvent();
 
-    final HistoricEventAction eventAction = mock(WorkflowEventVariableAction.class);
+    final HistoricEventAction eventAction = mock(AuditTrailLogAction.class);
     doNothing().when(eventAction).execute(any(HistoryEvent.class));
 
     historicEventActionExecutor.executeAction(eventAction, historyEvent);
     verify(eventAction).execute(eq(historyEvent));
+    historicEventActionExecutor.close();
   }
 
   @Test
-  void testAuditTrailLogAction() {
-    final HistoricEventActionExecutor historicEventActionExecutor = new HistoricEventActionExecutor();
+  void testAsyncAction() throws InterruptedException {
+    final HistoricEventActionExecutor historicEventActionExecutor =
+        new HistoricEventActionExecutor(new SimpleMeterRegistry(), 10, 100, "block");
     final HistoryEvent historyEvent = new HistoryEvent();
-
     final HistoricEventAction eventAction = mock(AuditTrailLogAction.class);
-    doNothing().when(eventAction).execute(any(HistoryEvent.class));
 
     historicEventActionExecutor.executeAction(eventAction, historyEvent);
-    verify(eventAction).execute(eq(historyEvent));
+
+    verify(eventAction, timeout(1000)).execute(eq(historyEvent));
+    historicEventActionExecutor.close();
+  }
+
+  @Test
+  void testQueueFull_dropped() throws InterruptedException {
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final HistoricEventActionExecutor historicEventActionExecutor =
+        new HistoricEventActionExecutor(meterRegistry, 1, 100, "drop");
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final HistoricEventAction blockingAction = event -> {
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    // the dispatcher is busy with the first action, the second one fills the queue
+    historicEventActionExecutor.executeAction(blockingAction, new HistoryEvent());
+    assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+    historicEventActionExecutor.executeAction(blockingAction, new HistoryEvent());
+    historicEventActionExecutor.executeAction(blockingAction, new HistoryEvent());
+
+    assertThat(meterRegistry.get(HistoricEventActionExecutor.DROPPED).counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(HistoricEventActionExecutor.QUEUE_SIZE).gauge().value()).isEqualTo(1);
+    release.countDown();
+    historicEventActionExecutor.close();
   }
 
 }
@@ -6,7 +6,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 
 import com.symphony.bdk.workflow.engine.handler.audit.AuditTrailLogAction;
-import com.symphony.bdk.workflow.engine.handler.variable.WorkflowEventVariableAction;
+import com.symphony.bdk.workflow.engine.handler.metrics.WorkflowMetricsAction;
 
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.junit.jupiter.api.Test;
@@ -27,7 +27,7 @@ public class HistoricEventActionTest {
   AuditTrailLogAction auditTrailLogAction;
 
   @Mock
-  WorkflowEventVariableAction workflowEventVariableAction;
+  WorkflowMetricsAction workflowMetricsAction;
 
   @InjectMocks
   HistoricEventHandler historicEventHandler;
@@ -43,8 +43,8 @@ public class HistoricEventActionTest {
 
     verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent1));
     verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent2));
-    verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent1));
-    verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent2));
+    verify(historicEventActionExecutor).executeAction(eq(workflowMetricsAction), eq(historyEvent1));
+    verify(historicEventActionExecutor).executeAction(eq(workflowMetricsAction), eq(historyEvent2));
   }
 
   @Test
@@ -56,6 +56,6 @@ public class HistoricEventActionTest {
     historicEventHandler.handleEvent(historyEvent);
 
     verify(historicEventActionExecutor).executeAction(eq(auditTrailLogAction), eq(historyEvent));
-    verify(historicEventActionExecutor).executeAction(eq(workflowEventVariableAction), eq(historyEvent));
+    verify(historicEventActionExecutor).executeAction(eq(workflowMetricsAction), eq(historyEvent));
   }
 }
@@ -0,0 +1,138 @@
+package com.symphony.bdk.workflow.engine.handler.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.symphony.bdk.workflow.engine.WorkflowEngineMetrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class WorkflowMetricsActionTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final WorkflowMetricsAction action = new WorkflowMetricsAction(registry);
+
+  @Test
+  void processCompleted() {
+    action.execute(processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_START, HistoricProcessInstance.STATE_ACTIVE));
+    action.execute(processEvent("p2", HistoryEventTypes.PROCESS_INSTANCE_START, HistoricProcessInstance.STATE_ACTIVE));
+    action.execute(processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_END, HistoricProcessInstance.STATE_COMPLETED));
+
+    assertThat(action.getRunningProcesses()).hasValue(1);
+    assertThat(action.getCompletedProcesses()).hasValue(1);
+    assertThat(registry.get(WorkflowMetricsAction.PROCESS_FAILED).counter().count()).isZero();
+  }
+
+  @Test
+  void processDuration() {
+    HistoricProcessInstanceEventEntity end =
+        processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_END, HistoricProcessInstance.STATE_COMPLETED);
+    end.setProcessDefinitionKey("workflow");
+    end.setDurationInMillis(1500L);
+
+    action.execute(end);
+
+    Timer timer = registry.get(WorkflowMetricsAction.PROCESS_DURATION)
+        .tag("workflow", "workflow").tag("outcome", "completed").timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1500);
+  }
+
+  @Test
+  void activityCompleted_eventsIgnored() {
+    action.execute(activityEvent("serviceTask", HistoryEventTypes.ACTIVITY_INSTANCE_START,
+        ActivityInstanceState.DEFAULT));
+    action.execute(activityEvent("scriptTask", HistoryEventTypes.ACTIVITY_INSTANCE_START,
+        ActivityInstanceState.DEFAULT));
+    action.execute(activityEvent("serviceTask", HistoryEventTypes.ACTIVITY_INSTANCE_END,
+        ActivityInstanceState.COMPLETE));
+    action.execute(activityEvent("intermediateCatchEvent", HistoryEventTypes.ACTIVITY_INSTANCE_START,
+        ActivityInstanceState.DEFAULT));
+
+    assertThat(action.getRunningActivities()).hasValue(1);
+    assertThat(action.getCompletedActivities()).hasValue(1);
+    assertThat(registry.get(WorkflowMetricsAction.ACTIVITY_FAILED).counter().count()).isZero();
+  }
+
+  @Test
+  void activityFailed_processFailed() {
+    action.execute(processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_START, HistoricProcessInstance.STATE_ACTIVE));
+    action.execute(activityEvent("serviceTask", HistoryEventTypes.ACTIVITY_INSTANCE_START,
+        ActivityInstanceState.DEFAULT));
+    action.execute(activityEvent("serviceTask", HistoryEventTypes.ACTIVITY_INSTANCE_END,
+        ActivityInstanceState.CANCELED));
+    action.execute(processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_END, HistoricProcessInstance.STATE_COMPLETED));
+
+    assertThat(registry.get(WorkflowMetricsAction.ACTIVITY_FAILED).counter().count()).isEqualTo(1);
+    assertThat(registry.get(WorkflowMetricsAction.PROCESS_FAILED).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void incidentCreated_activityFailed() {
+    HistoricIncidentEventEntity incident = new HistoricIncidentEventEntity();
+    incident.setEventType(HistoryEventTypes.INCIDENT_CREATE.getEventName());
+    incident.setProcessInstanceId("p1");
+
+    action.execute(incident);
+    action.execute(processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_END,
+        HistoricProcessInstance.STATE_EXTERNALLY_TERMINATED));
+
+    assertThat(registry.get(WorkflowMetricsAction.ACTIVITY_FAILED).counter().count()).isEqualTo(1);
+    assertThat(registry.get(WorkflowMetricsAction.PROCESS_FAILED).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void workflowDeployedAndUndeployed() {
+    action.onWorkflowDeployed();
+    action.onWorkflowDeployed();
+    action.onWorkflowUndeployed();
+
+    assertThat(action.getDeployedWorkflows()).hasValue(1);
+  }
+
+  @Test
+  void reconcile() {
+    action.execute(processEvent("p1", HistoryEventTypes.PROCESS_INSTANCE_START, HistoricProcessInstance.STATE_ACTIVE));
+    WorkflowEngineMetrics metrics = mock(WorkflowEngineMetrics.class);
+    when(metrics.countDeployedWorkflows()).thenReturn(3L);
+    when(metrics.countRunningProcesses()).thenReturn(5L);
+    when(metrics.countCompletedProcesses()).thenReturn(10L);
+
+    action.reconcile(metrics);
+
+    assertThat(action.getDeployedWorkflows()).hasValue(3);
+    assertThat(action.getRunningProcesses()).hasValue(5);
+    assertThat(action.getCompletedProcesses()).hasValue(10);
+    assertThat(action.getRunningActivities()).hasValue(0);
+  }
+
+  private static HistoricProcessInstanceEventEntity processEvent(String id, HistoryEventTypes type, String state) {
+    HistoricProcessInstanceEventEntity event = new HistoricProcessInstanceEventEntity();
+    event.setProcessInstanceId(id);
+    event.setEventType(type.getEventName());
+    event.setState(state);
+    return event;
+  }
+
+  private static HistoricActivityInstanceEventEntity activityEvent(String activityType, HistoryEventTypes type,
+      ActivityInstanceState state) {
+    HistoricActivityInstanceEventEntity event = new HistoricActivityInstanceEventEntity();
+    event.setProcessInstanceId("p1");
+    event.setActivityType(activityType);
+    event.setEventType(type.getEventName());
+    event.setActivityInstanceState(state.getStateCode());
+    return event;
+  }
+
+}
@@ -63,6 +63,14 @@ class SwadlParserTest {
         .isInstanceOf(JsonMappingException.class);
   }
 
+  @Test
+  void executeRequests_unsupportedProperty() {
+    assertThatThrownBy(() -> SwadlParser.fromYaml(
+        getClass().getResourceAsStream("execute-requests-unsupported-property.swadl.yaml")))
+        .describedAs("Requests of execute-requests do not support all the properties of execute-request")
+        .isInstanceOf(SwadlNotValidException.class);
+  }
+
 
 
 }
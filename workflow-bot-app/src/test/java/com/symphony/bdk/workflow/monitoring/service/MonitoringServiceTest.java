@@ -19,6 +19,7 @@ import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesStateView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowNodesView;
 import com.symphony.bdk.workflow.api.v1.dto.WorkflowView;
 import com.symphony.bdk.workflow.converter.ObjectConverter;
+import com.symphony.bdk.workflow.engine.CompactWorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowDirectedGraph;
 import com.symphony.bdk.workflow.engine.WorkflowNode;
 import com.symphony.bdk.workflow.engine.WorkflowNodeTypeHelper;
@@ -211,7 +212,8 @@ class MonitoringServiceTest {
     directGraph.registerToDictionary("activity1", activity1);
     directGraph.registerToDictionary("activity2", activity2);
 
-    when(workflowDirectedGraphService.getDirectedGraph("workflow")).thenReturn(directGraph);
+    when(workflowDirectedGraphService.getDirectedGraph("workflow")).thenReturn(
+        CompactWorkflowDirectedGraph.of(directGraph));
 
     // mock variables
     VariablesDomain vars = new VariablesDomain();
@@ -294,10 +296,12 @@ class MonitoringServiceTest {
 
     WorkflowNodesView definitionView;
     if (Optional.ofNullable(version).isPresent()) {
-      when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"), eq(version))).thenReturn(directedGraph);
+      when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"), eq(version))).thenReturn(
+          CompactWorkflowDirectedGraph.of(directedGraph));
       definitionView = service.getWorkflowDefinition("workflow", version);
     } else {
-      when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(directedGraph);
+      when(workflowDirectedGraphService.getDirectedGraph(eq("workflow"))).thenReturn(
+          CompactWorkflowDirectedGraph.of(directedGraph));
       definitionView = service.getWorkflowDefinition("workflow");
     }
 
@@ -0,0 +1,69 @@
+package com.symphony.bdk.workflow.swadl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.symphony.bdk.workflow.swadl.v1.Workflow;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsing throughput over a corpus of large SWADL files, to compare first parses with parses of already validated
+ * contents.
+ */
+@Slf4j
+@Disabled("Benchmark, to be run manually")
+class SwadlParserBenchmark {
+
+  private static final int WORKFLOWS = 50;
+  private static final int ACTIVITIES_PER_WORKFLOW = 500;
+  private static final int ITERATIONS = 5;
+
+  @Test
+  void parseLargeWorkflows() throws Exception {
+    List<String> corpus = new ArrayList<>();
+    for (int i = 0; i < WORKFLOWS; i++) {
+      corpus.add(largeWorkflow(i));
+    }
+    log.info("Corpus of {} workflows, {} KB in total", corpus.size(),
+        corpus.stream().mapToInt(String::length).sum() / 1024);
+
+    // first run validates, next ones hit the validation cache
+    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+      long start = System.nanoTime();
+      for (String swadl : corpus) {
+        Workflow workflow = SwadlParser.fromYaml(swadl);
+        assertThat(workflow.getActivities()).hasSize(ACTIVITIES_PER_WORKFLOW);
+      }
+      log.info("Iteration {}: parsed {} workflows in {} ms", iteration, corpus.size(),
+          (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  private static String largeWorkflow(int index) {
+    StringBuilder swadl = new StringBuilder()
+        .append("id: large-workflow-").append(index).append('\n')
+        .append("variables:\n")
+        .append("  counter: 0\n")
+        .append("activities:\n")
+        .append("  - send-message:\n")
+        .append("      id: activity0\n")
+        .append("      on:\n")
+        .append("        message-received:\n")
+        .append("          content: /large-").append(index).append('\n')
+        .append("      content: start\n");
+    for (int i = 1; i < ACTIVITIES_PER_WORKFLOW; i++) {
+      swadl.append("  - send-message:\n")
+          .append("      id: activity").append(i).append('\n')
+          .append("      to:\n")
+          .append("        stream-id: \"123\"\n")
+          .append("      content: <messageML>Message ").append(i).append(" ${variables.counter}</messageML>\n");
+    }
+    return swadl.toString();
+  }
+
+}
@@ -0,0 +1,134 @@
+package com.symphony.bdk.workflow.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+class TracerTest {
+
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+  private static final String PARENT = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void startSpan_noParent_newTrace() {
+    Tracer tracer = new Tracer(meterRegistry, null, 0, 1);
+
+    Span span = tracer.startSpan("span", null);
+
+    assertThat(span.getParentSpanId()).isNull();
+    assertThat(span.traceparent()).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01");
+    assertThat(span.getTraceId()).isNotEqualTo(tracer.startSpan("other", null).getTraceId());
+  }
+
+  @Test
+  void startSpan_parent_sameTrace() {
+    Tracer tracer = new Tracer(meterRegistry, null, 0, 1);
+
+    Span span = tracer.startSpan("span", PARENT);
+
+    assertThat(span.getTraceId()).isEqualTo(TRACE_ID);
+    assertThat(span.getParentSpanId()).isEqualTo("00f067aa0ba902b7");
+    assertThat(Tracer.traceIdOf(span.traceparent())).isEqualTo(TRACE_ID);
+  }
+
+  @Test
+  void startSpan_invalidParent_newTrace() {
+    Tracer tracer = new Tracer(meterRegistry, null, 0, 1);
+
+    Span span = tracer.startSpan("span", "invalid");
+
+    assertThat(span.getParentSpanId()).isNull();
+  }
+
+  @Test
+  void end_exportedToFile(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("spans.jsonl");
+    Tracer tracer = new Tracer(meterRegistry, new FileSpanExporter(file, 0), 10, 10);
+
+    tracer.startSpan("first", PARENT).tag("key", "value").end();
+    tracer.startSpan("second", PARENT).error(new IOException()).end();
+    tracer.close();
+
+    List<String> lines = Files.readAllLines(file);
+    assertThat(lines).hasSize(2);
+    assertThat(lines.get(0)).contains("\"traceId\":\"" + TRACE_ID + "\"", "\"name\":\"first\"", "\"key\":\"value\"");
+    assertThat(lines.get(1)).contains("\"name\":\"second\"", "\"error\":true");
+  }
+
+  @Test
+  void end_exportedToFile_rolledOver(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("spans.jsonl");
+    FileSpanExporter exporter = new FileSpanExporter(file, 100);
+    Tracer tracer = new Tracer(meterRegistry, null, 0, 1);
+    Span first = tracer.startSpan("first", PARENT);
+    Span second = tracer.startSpan("second", PARENT);
+
+    exporter.export(List.of(first));
+    exporter.export(List.of(second));
+
+    assertThat(Files.readString(directory.resolve("spans.jsonl.1"))).contains("\"name\":\"first\"")
+        .doesNotContain("\"name\":\"second\"");
+    assertThat(Files.readString(file)).contains("\"name\":\"second\"").doesNotContain("\"name\":\"first\"");
+  }
+
+  @Test
+  void end_exportFailed_dropped() throws Exception {
+    Tracer tracer = new Tracer(meterRegistry, spans -> {
+      throw new IOException("collector down");
+    }, 10, 10);
+
+    tracer.startSpan("span", null).end();
+    tracer.close();
+
+    assertThat(meterRegistry.get(Tracer.DROPPED).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void otlpJson() {
+    Tracer tracer = new Tracer(meterRegistry, null, 0, 1);
+    Span span = tracer.startSpan("span", PARENT).tag("key", "value");
+    span.end();
+
+    Map<String, Object> json =
+        new OtlpSpanExporter("http://localhost:4318/v1/traces", "workflow-bot", Duration.ofSeconds(1))
+            .toJson(List.of(span));
+
+    Map<String, Object> resourceSpans = ((List<Map<String, Object>>) json.get("resourceSpans")).get(0);
+    Map<String, Object> scopeSpans = ((List<Map<String, Object>>) resourceSpans.get("scopeSpans")).get(0);
+    Map<String, Object> otlpSpan = ((List<Map<String, Object>>) scopeSpans.get("spans")).get(0);
+    assertThat(otlpSpan).containsEntry("traceId", TRACE_ID)
+        .containsEntry("parentSpanId", "00f067aa0ba902b7")
+        .containsEntry("kind", 1)
+        .containsEntry("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()))
+        .containsEntry("attributes", List.of(Map.of("key", "key", "value", Map.of("stringValue", "value"))));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void otlpJson_clientSpan() {
+    Tracer tracer = new Tracer(meterRegistry, null, 0, 1);
+    Span span = tracer.startSpan("http.request", PARENT).kind(Span.Kind.CLIENT);
+    span.end();
+
+    Map<String, Object> json =
+        new OtlpSpanExporter("http://localhost:4318/v1/traces", "workflow-bot", Duration.ofSeconds(1))
+            .toJson(List.of(span));
+
+    Map<String, Object> resourceSpans = ((List<Map<String, Object>>) json.get("resourceSpans")).get(0);
+    Map<String, Object> scopeSpans = ((List<Map<String, Object>>) resourceSpans.get("scopeSpans")).get(0);
+    assertThat(((List<Map<String, Object>>) scopeSpans.get("spans")).get(0)).containsEntry("kind", 3);
+  }
+
+}
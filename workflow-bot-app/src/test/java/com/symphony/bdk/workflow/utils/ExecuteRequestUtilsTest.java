@@ -5,6 +5,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.symphony.bdk.workflow.engine.executor.request.ExecuteRequestUtils;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
 class ExecuteRequestUtilsTest {
 
@@ -43,4 +50,26 @@ class ExecuteRequestUtilsTest {
     assertThat(encodedUrl).as("Already encoded parameters are re-encoded").isEqualTo(
         "https://www.wdk.symphony.com:8080/path1/path2?key1=value%25201&key1=value%25402");
   }
+
+  @Test
+  void selectFields_body() throws IOException {
+    Map<String, Object> selected = ExecuteRequestUtils.selectFields(
+        Map.of("user", Map.of("name", "john"), "items", List.of(1, 2, 3)),
+        Map.of("name", "/user/name", "second", "/items/1", "unknown", "/missing"));
+
+    assertThat(selected).containsEntry("name", "john").containsEntry("second", 2).containsEntry("unknown", null);
+  }
+
+  @Test
+  void selectFields_file(@TempDir Path tempDir) throws IOException {
+    Path file = tempDir.resolve("response");
+    Files.writeString(file, "{\"user\": {\"name\": \"john\"}, \"items\": [1, 2, 3]}");
+
+    Map<String, Object> selected = ExecuteRequestUtils.selectFields(file,
+        Map.of("user", "/user", "second", "/items/1", "unknown", "/missing"));
+
+    assertThat(selected).containsEntry("user", Map.of("name", "john"))
+        .containsEntry("second", 2)
+        .containsEntry("unknown", null);
+  }
 }
@@ -1,7 +1,6 @@
 package com.symphony.bdk.workflow.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -80,7 +79,7 @@ class UtilityFunctionsMapperTest {
   @DisplayName("Read shared data method test")
   void readSharedTest() {
     UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
-    when(sharedDataStore.getNamespaceData(anyString())).thenReturn(Map.of("key", "value"));
+    when(sharedDataStore.getData("namespace", "key")).thenReturn("value");
     Object actual = UtilityFunctionsMapper.readShared("namespace", "key");
     assertThat(actual).isEqualTo("value");
   }
@@ -93,4 +92,16 @@ class UtilityFunctionsMapperTest {
     UtilityFunctionsMapper.writeShared("namespace", "key", "value");
     verify(sharedDataStore).putNamespaceData(eq("namespace"), eq("key"), eq("value"));
   }
+
+  @Test
+  void atomicSharedOperationsTest() {
+    UtilityFunctionsMapper.setSharedStateService(sharedDataStore);
+    when(sharedDataStore.increment("namespace", "counter", 2L)).thenReturn(5L);
+    when(sharedDataStore.compareAndSet("namespace", "key", "old", "new")).thenReturn(true);
+    when(sharedDataStore.putIfAbsent("namespace", "key", "value")).thenReturn("existing");
+
+    assertThat(UtilityFunctionsMapper.incrementShared("namespace", "counter", 2L)).isEqualTo(5L);
+    assertThat(UtilityFunctionsMapper.compareAndSetShared("namespace", "key", "old", "new")).isTrue();
+    assertThat(UtilityFunctionsMapper.putSharedIfAbsent("namespace", "key", "value")).isEqualTo("existing");
+  }
 }
@@ -79,4 +79,12 @@ public interface ActivityExecutorContext<T> {
   File getResourceFile(Path resourcePath) throws IOException;
 
   Path saveResource(Path resourcePath, byte[] content) throws IOException;
+
+  /**
+   * Same as {@link #saveResource(Path, byte[])} but without loading the whole content in memory. The default
+   * implementation reads the whole content.
+   */
+  default Path saveResource(Path resourcePath, InputStream content) throws IOException {
+    return saveResource(resourcePath, content.readAllBytes());
+  }
 }
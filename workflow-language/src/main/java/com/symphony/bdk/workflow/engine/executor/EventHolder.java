@@ -27,4 +27,18 @@ public class EventHolder<T> {
    */
   private Map<String, Object> args;
 
+  /**
+   * W3C trace context of the event's dispatch, activities triggered by the event are part of its trace.
+   */
+  private String traceparent;
+
+  /**
+   * When the event was created, in milliseconds since epoch.
+   */
+  private Long timestamp;
+
+  public EventHolder(V4Initiator initiator, T source, Map<String, Object> args) {
+    this(initiator, source, args, null, null);
+  }
+
 }
@@ -1,9 +1,106 @@
 package com.symphony.bdk.workflow.engine.executor;
 
+import java.math.BigDecimal;
 import java.util.Map;
+import java.util.Objects;
 
 public interface SharedDataStore {
   Map<String, Object> getNamespaceData(String namespace);
 
+  /**
+   * Reads a single key of a namespace, null if there is no data under this key.
+   */
+  default Object getData(String namespace, String key) {
+    return getNamespaceData(namespace).get(key);
+  }
+
   void putNamespaceData(String namespace, String key, Object data);
+
+  /**
+   * Atomically adds delta to the number stored under the key, a missing key counts as 0.
+   *
+   * <p>Numbers with a fractional part are rejected rather than truncated.</p>
+   *
+   * <p>The default implementation is only atomic within this store instance.</p>
+   *
+   * @return the number stored after the increment
+   */
+  default long increment(String namespace, String key, long delta) {
+    synchronized (this) {
+      long value = integralValue(namespace, key, getData(namespace, key)) + delta;
+      putNamespaceData(namespace, key, value);
+      return value;
+    }
+  }
+
+  /**
+   * Atomically stores data under the key if the current data is the expected one, a null expected data matches a
+   * missing key.
+   *
+   * <p>The default implementation is only atomic within this store instance.</p>
+   *
+   * @return true if the data was stored
+   */
+  default boolean compareAndSet(String namespace, String key, Object expected, Object data) {
+    synchronized (this) {
+      if (!sameValue(getData(namespace, key), expected)) {
+        return false;
+      }
+      putNamespaceData(namespace, key, data);
+      return true;
+    }
+  }
+
+  /**
+   * Atomically stores data under the key if there is no data yet.
+   *
+   * <p>The default implementation is only atomic within this store instance.</p>
+   *
+   * @return the data already stored under the key, null if the given data was stored
+   */
+  default Object putIfAbsent(String namespace, String key, Object data) {
+    synchronized (this) {
+      Object current = getData(namespace, key);
+      if (current == null) {
+        putNamespaceData(namespace, key, data);
+      }
+      return current;
+    }
+  }
+
+  /**
+   * Number to increment, 0 for missing data.
+   *
+   * @throws IllegalArgumentException if the data is not a number or has a fractional part
+   */
+  static long integralValue(String namespace, String key, Object current) {
+    if (current == null) {
+      return 0;
+    }
+    if (!(current instanceof Number)) {
+      throw new IllegalArgumentException(
+          String.format("Shared data %s.%s is not a number and cannot be incremented", namespace, key));
+    }
+    try {
+      return new BigDecimal(current.toString()).longValueExact();
+    } catch (ArithmeticException | NumberFormatException e) {
+      throw new IllegalArgumentException(
+          String.format("Shared data %s.%s is not an integer and cannot be incremented", namespace, key), e);
+    }
+  }
+
+  /**
+   * Stored numbers are read back with the smallest fitting type, numbers are compared by value.
+   */
+  static boolean sameValue(Object current, Object expected) {
+    if (current instanceof Number && expected instanceof Number) {
+      try {
+        return new BigDecimal(current.toString()).compareTo(new BigDecimal(expected.toString())) == 0;
+      } catch (NumberFormatException e) {
+        // NaN or infinite
+        return current.equals(expected);
+      }
+    }
+    return Objects.equals(current, expected);
+  }
 }
@@ -10,4 +10,35 @@ public class Properties {
 
   @JsonProperty
   private Boolean publish = true;
+
+  /**
+   * History kept for the workflow's instances, the bot's configured history when not set.
+   */
+  @JsonProperty
+  private History history;
+
+  /**
+   * Number of days the workflow's history is kept after its instances end, the bot's configured time to live when not
+   * set.
+   */
+  @JsonProperty("history-time-to-live")
+  private Integer historyTimeToLive;
+
+  public enum History {
+    /**
+     * No history at all.
+     */
+    @JsonProperty("none")
+    NONE,
+    /**
+     * Process and activity instances only, without variables and jobs.
+     */
+    @JsonProperty("activity")
+    ACTIVITY,
+    /**
+     * Everything the bot's configured history keeps.
+     */
+    @JsonProperty("full")
+    FULL
+  }
 }
@@ -28,6 +28,12 @@ public class Workflow {
   @JsonIgnore
   private Long version;
 
+  /**
+   * Hash of the normalized SWADL content, if the workflow has been parsed from it.
+   */
+  @JsonIgnore
+  private String contentHash;
+
   public Optional<Activity> getFirstActivity() {
     return activities.stream().findFirst();
   }
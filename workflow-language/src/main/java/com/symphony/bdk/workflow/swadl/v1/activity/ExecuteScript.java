@@ -13,6 +13,8 @@ public class ExecuteScript extends BaseActivity { // no executor it is handled a
   public static final String SCRIPT_ENGINE = "groovy";
 
   private String script;
+  private String timeout;
+  private String maxIterations;
 
   public String getScript() {
     if (script == null) {
@@ -22,5 +24,24 @@ public class ExecuteScript extends BaseActivity { // no executor it is handled a
       return script;
     }
   }
+
+  /**
+   * Overrides the global script timeout, as an ISO 8601 duration.
+   */
+  public String getTimeout() {
+    return timeout == null ? getVariableProperty("timeout") : timeout;
+  }
+
+  /**
+   * Overrides the global maximum number of loop iterations, closure and method calls.
+   */
+  public String getMaxIterations() {
+    return maxIterations == null ? getVariableProperty("max-iterations") : maxIterations;
+  }
+
+  private String getVariableProperty(String name) {
+    Object value = getVariableProperties().get(name);
+    return value == null ? null : value.toString();
+  }
 }
 
@@ -20,4 +20,7 @@ public class ExecuteRequest extends BaseActivity {
   private Object body;
   private Map<String, Object> headers = Collections.emptyMap();
   private boolean encodeQueryParams = true;
+  private boolean cache = false;
+  private String responseMode = "body";
+  private Map<String, String> responseFields = Collections.emptyMap();
 }
@@ -0,0 +1,34 @@
+package com.symphony.bdk.workflow.swadl.v1.activity.request;
+
+import com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Executes multiple HTTP requests concurrently, the responses are returned together once all requests completed.
+ */
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+public class ExecuteRequests extends BaseActivity {
+  private Map<String, Request> requests = Collections.emptyMap();
+  private int maxParallelism = 10;
+  private String timeout;
+
+  /**
+   * One of the requests to execute, same properties as {@link ExecuteRequest}.
+   */
+  @Data
+  public static class Request {
+    private String url;
+    private String method = "GET";
+    private Object body;
+    private Map<String, Object> headers = Collections.emptyMap();
+    private boolean encodeQueryParams = true;
+    private String timeout;
+  }
+}
@@ -0,0 +1,104 @@
+package com.symphony.bdk.workflow.swadl.index;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Records activities and activity executors at compile time, so they can be found at runtime without scanning the
+ * classpath.
+ *
+ * <p>To be used as an annotation processor by projects defining activities, the index is written as
+ * {@link #ACTIVITIES_INDEX} and {@link #EXECUTORS_INDEX} resources listing one class name per line.</p>
+ */
+@SupportedAnnotationTypes("*")
+public class ActivityIndexProcessor extends AbstractProcessor {
+
+  public static final String ACTIVITIES_INDEX = "META-INF/wdk/activities";
+  public static final String EXECUTORS_INDEX = "META-INF/wdk/activity-executors";
+
+  private static final String BASE_ACTIVITY = "com.symphony.bdk.workflow.swadl.v1.activity.BaseActivity";
+  private static final String ACTIVITY_EXECUTOR = "com.symphony.bdk.workflow.engine.executor.ActivityExecutor";
+
+  private final Set<String> activities = new TreeSet<>();
+  private final Set<String> executors = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      write(ACTIVITIES_INDEX, activities);
+      write(EXECUTORS_INDEX, executors);
+    } else {
+      TypeMirror baseActivity = erasure(BASE_ACTIVITY);
+      TypeMirror activityExecutor = erasure(ACTIVITY_EXECUTOR);
+      for (Element element : roundEnv.getRootElements()) {
+        collect(element, baseActivity, activityExecutor);
+      }
+    }
+    // other processors can still process the annotations
+    return false;
+  }
+
+  private void collect(Element element, TypeMirror baseActivity, TypeMirror activityExecutor) {
+    if (!(element instanceof TypeElement)) {
+      return;
+    }
+    TypeElement type = (TypeElement) element;
+    TypeMirror erasure = processingEnv.getTypeUtils().erasure(type.asType());
+    String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+    if (baseActivity != null && !name.equals(BASE_ACTIVITY)
+        && processingEnv.getTypeUtils().isAssignable(erasure, baseActivity)) {
+      activities.add(name);
+    }
+    if (activityExecutor != null && !name.equals(ACTIVITY_EXECUTOR)
+        && processingEnv.getTypeUtils().isAssignable(erasure, activityExecutor)) {
+      executors.add(name);
+    }
+
+    for (Element enclosed : type.getEnclosedElements()) {
+      collect(enclosed, baseActivity, activityExecutor);
+    }
+  }
+
+  // null if the type is not on the classpath of the project being compiled
+  private TypeMirror erasure(String typeName) {
+    TypeElement type = processingEnv.getElementUtils().getTypeElement(typeName);
+    return type == null ? null : processingEnv.getTypeUtils().erasure(type.asType());
+  }
+
+  private void write(String resource, Set<String> classNames) {
+    if (classNames.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+      try (Writer writer = file.openWriter()) {
+        for (String className : classNames) {
+          writer.write(className);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Failed to write activity index " + resource + ": " + e.getMessage());
+    }
+  }
+
+}